@@ -0,0 +1,86 @@
+package RadVeda.NotificationManagement.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * WHAT IT IS:
+ * The entry point of `mvn exec:exec` for this module: runs JMH with the given
+ * options (same syntax as org.openjdk.jmh.Main) and ALWAYS saves the results as
+ * JSON in benchmark-results/<git commit>.json.
+ * 
+ * WHY WE NEED IT:
+ * A number is only useful next to the number of the previous commit. With one
+ * file per commit, CompareResults can diff any two of them.
+ * An explicit `-rff <file>` still wins.
+ * On a JVM older than 21 ThreadModelBenchmark's VIRTUAL runs are left out
+ * (they need virtual threads) instead of failing.
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        OptionsBuilder options = new OptionsBuilder();
+        options.parent(commandLine);
+
+        if (commandLine.getResult().hasValue()) {
+            options.resultFormat(commandLine.getResultFormat().orElse(ResultFormatType.JSON));
+        } else {
+            Path file = Path.of("benchmark-results", gitCommit() + ".json");
+            Files.createDirectories(file.getParent());
+            options.resultFormat(ResultFormatType.JSON).result(file.toString());
+        }
+
+        skipVirtualThreadsBefore21(commandLine, options);
+
+        Options built = options.build();
+        new Runner(built).run();
+        System.out.println("Results: " + built.getResult().get());
+    }
+
+    private static void skipVirtualThreadsBefore21(CommandLineOptions commandLine, OptionsBuilder options) {
+        if (Runtime.version().feature() >= 21) {
+            return;
+        }
+        Collection<String> requested = commandLine.getParameter(ThreadModelBenchmark.THREADS_PARAM)
+                .orElse(List.of(ThreadModelBenchmark.PLATFORM, ThreadModelBenchmark.VIRTUAL));
+        List<String> runnable = requested.stream().filter(t -> !t.equals(ThreadModelBenchmark.VIRTUAL)).toList();
+        if (runnable.size() < requested.size()) {
+            System.out.println("ThreadModelBenchmark: VIRTUAL skipped, needs Java 21, running on "
+                    + System.getProperty("java.version"));
+        }
+        if (!runnable.isEmpty()) {
+            options.param(ThreadModelBenchmark.THREADS_PARAM, runnable.toArray(String[]::new));
+        }
+    }
+
+    // Short hash of HEAD ("-dirty" with local changes), or "local" outside of git.
+    private static String gitCommit() {
+        try {
+            String commit = run("git", "rev-parse", "--short", "HEAD");
+            boolean dirty = !run("git", "status", "--porcelain", "--untracked-files=no").isEmpty();
+            return commit.isEmpty() ? "local" : commit + (dirty ? "-dirty" : "");
+        } catch (IOException e) {
+            return "local";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "local";
+        }
+    }
+
+    private static String run(String... command) throws IOException, InterruptedException {
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+        return process.waitFor() == 0 ? output : "";
+    }
+}
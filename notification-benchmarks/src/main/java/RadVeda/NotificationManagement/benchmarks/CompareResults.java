@@ -0,0 +1,81 @@
+package RadVeda.NotificationManagement.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * WHAT IT IS:
+ * Compares two JMH JSON result files (e.g. two commits from
+ * benchmark-results/) benchmark by benchmark:
+ *   java -cp ... RadVeda.NotificationManagement.benchmarks.CompareResults base.json new.json [threshold%]
+ * 
+ * HOW IT WORKS:
+ * A benchmark is identified by its name plus its @Param values. The change is
+ * reported as "better/worse" in the benchmark's own mode (higher throughput is
+ * better, lower average time is better). Exits with 1 if any benchmark got worse
+ * by more than the threshold (default 10%) AND by more than both error margins,
+ * so it can guard a CI job.
+ */
+public class CompareResults {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("usage: CompareResults <base.json> <new.json> [threshold%]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+
+        Map<String, JsonNode> base = read(new File(args[0]));
+        Map<String, JsonNode> current = read(new File(args[1]));
+
+        boolean regression = false;
+        System.out.printf("%-90s %14s %14s %9s%n", "benchmark", "base", "new", "change");
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode before = base.get(entry.getKey());
+            JsonNode after = entry.getValue();
+            if (before == null) {
+                System.out.printf("%-90s %14s %14.3f %9s%n", entry.getKey(), "-", score(after), "new");
+                continue;
+            }
+
+            double change = 100.0 * (score(after) - score(before)) / score(before);
+            // Positive = better, whatever the mode.
+            double improvement = after.path("mode").asText().equals("thrpt") ? change : 0.0 - change;
+            boolean outsideNoise = Math.abs(score(after) - score(before)) > error(before) + error(after);
+            boolean worse = improvement < -threshold && outsideNoise;
+            regression |= worse;
+
+            System.out.printf("%-90s %14.3f %14.3f %+8.1f%%%s%n", entry.getKey(), score(before), score(after),
+                    improvement, worse ? "  WORSE" : "");
+        }
+        System.exit(regression ? 1 : 0);
+    }
+
+    private static Map<String, JsonNode> read(File file) throws Exception {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText());
+            Iterator<Map.Entry<String, JsonNode>> params = result.path("params").fields();
+            while (params.hasNext()) {
+                Map.Entry<String, JsonNode> param = params.next();
+                key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText());
+            }
+            results.put(key.toString(), result);
+        }
+        return results;
+    }
+
+    private static double score(JsonNode result) {
+        return result.path("primaryMetric").path("score").asDouble();
+    }
+
+    private static double error(JsonNode result) {
+        double error = result.path("primaryMetric").path("scoreError").asDouble();
+        return Double.isNaN(error) ? 0 : error;
+    }
+}
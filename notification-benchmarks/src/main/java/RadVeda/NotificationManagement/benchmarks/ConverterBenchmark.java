@@ -0,0 +1,90 @@
+package RadVeda.NotificationManagement.benchmarks;
+
+import RadVeda.NotificationManagement.StorageEncryption.Converters.EncryptedLongConverter;
+import RadVeda.NotificationManagement.StorageEncryption.Converters.EncryptedStringConverter;
+import RadVeda.NotificationManagement.StorageEncryption.Converters.SearchableEncryptedLongConverter;
+import RadVeda.NotificationManagement.StorageEncryption.Converters.SearchableEncryptedStringConverter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WHAT IT IS:
+ * Cost of the JPA AttributeConverters per field, both directions, as Hibernate
+ * calls them on every save and every loaded entity.
+ * 
+ * WHY WE NEED IT:
+ * An inbox row has 3-5 converted fields, so this times the number of rows is
+ * what a JPA read of an inbox spends on encryption (NotificationBulkReader
+ * exists because of it). The message is a typical chat line.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConverterBenchmark {
+
+    private static final String MESSAGE = "Your MRI report from 12 March is ready, please review it.";
+    private static final Long ID = 1234567L;
+
+    private final EncryptedStringConverter stringConverter = new EncryptedStringConverter();
+    private final EncryptedLongConverter longConverter = new EncryptedLongConverter();
+    private final SearchableEncryptedStringConverter searchableStringConverter = new SearchableEncryptedStringConverter();
+    private final SearchableEncryptedLongConverter searchableLongConverter = new SearchableEncryptedLongConverter();
+
+    private String storedMessage;
+    private String storedId;
+    private String storedSearchableType;
+    private String storedSearchableId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        EncryptionBenchmark.installKeyRing();
+        storedMessage = stringConverter.convertToDatabaseColumn(MESSAGE);
+        storedId = longConverter.convertToDatabaseColumn(ID);
+        storedSearchableType = searchableStringConverter.convertToDatabaseColumn("PATIENT");
+        storedSearchableId = searchableLongConverter.convertToDatabaseColumn(ID);
+    }
+
+    @Benchmark
+    public String stringToColumn() {
+        return stringConverter.convertToDatabaseColumn(MESSAGE);
+    }
+
+    @Benchmark
+    public String stringToAttribute() {
+        return stringConverter.convertToEntityAttribute(storedMessage);
+    }
+
+    @Benchmark
+    public String longToColumn() {
+        return longConverter.convertToDatabaseColumn(ID);
+    }
+
+    @Benchmark
+    public Long longToAttribute() {
+        return longConverter.convertToEntityAttribute(storedId);
+    }
+
+    @Benchmark
+    public String searchableStringToColumn() {
+        return searchableStringConverter.convertToDatabaseColumn("PATIENT");
+    }
+
+    @Benchmark
+    public String searchableStringToAttribute() {
+        return searchableStringConverter.convertToEntityAttribute(storedSearchableType);
+    }
+
+    @Benchmark
+    public String searchableLongToColumn() {
+        return searchableLongConverter.convertToDatabaseColumn(ID);
+    }
+
+    @Benchmark
+    public Long searchableLongToAttribute() {
+        return searchableLongConverter.convertToEntityAttribute(storedSearchableId);
+    }
+}
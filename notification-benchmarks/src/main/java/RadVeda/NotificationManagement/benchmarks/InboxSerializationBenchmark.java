@@ -0,0 +1,72 @@
+package RadVeda.NotificationManagement.benchmarks;
+
+import RadVeda.NotificationManagement.Notifications.ChatNotification;
+import RadVeda.NotificationManagement.Notifications.InboxItem;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WHAT IT IS:
+ * Entity lists to JSON with an ObjectMapper configured like Spring MVC's
+ * (Jackson2ObjectMapperBuilder), as the inbox and "get all" endpoints return
+ * them.
+ * 
+ * WHY WE NEED IT:
+ * After the DB and decryption, writing the response is the remaining per-row
+ * cost of a large inbox. Compares the flat InboxItem with the full entity.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InboxSerializationBenchmark {
+
+    @Param({"20", "200"})
+    public int rows;
+
+    private ObjectWriter writer;
+    private List<InboxItem> inbox;
+    private List<ChatNotification> chats;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        writer = Jackson2ObjectMapperBuilder.json().build().writer();
+        inbox = new ArrayList<>(rows);
+        chats = new ArrayList<>(rows);
+        Instant now = Instant.parse("2024-01-01T00:00:00Z");
+        for (int i = 0; i < rows; i++) {
+            String message = "Notification number " + i + ": your report is ready, please review it.";
+            Instant createdAt = now.minusSeconds(60L * i);
+            inbox.add(new InboxItem("CHAT", (long) i, message, i % 3 == 0, createdAt));
+
+            ChatNotification chat = new ChatNotification();
+            chat.setId((long) i);
+            chat.setMessage(message);
+            chat.setRecipientType("PATIENT");
+            chat.setRecipientId(42L);
+            chat.setChatType("PRIVATE");
+            chat.setChatId(7L);
+            chat.setRead(i % 3 == 0);
+            chat.setCreatedAt(createdAt);
+            chats.add(chat);
+        }
+    }
+
+    @Benchmark
+    public byte[] inboxItems() throws Exception {
+        return writer.writeValueAsBytes(inbox);
+    }
+
+    @Benchmark
+    public byte[] chatEntities() throws Exception {
+        return writer.writeValueAsBytes(chats);
+    }
+}
@@ -0,0 +1,79 @@
+package RadVeda.NotificationManagement.benchmarks;
+
+import RadVeda.NotificationManagement.config.RabbitMQConfig;
+import RadVeda.NotificationManagement.consumer.NotificationMessage;
+import RadVeda.NotificationManagement.consumer.NotificationMessageBinaryConverter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WHAT IT IS:
+ * NotificationMessage <-> AMQP message through the same converter
+ * RabbitMQConfig registers, once per wire format: `json` (what producers send
+ * today) and `binary` (NotificationMessageBinaryConverter, picked by content
+ * type).
+ *
+ * WHY WE NEED IT:
+ * Every consumed message pays fromMessage (type header lookup + JSON parse)
+ * before any of our code runs; every published one pays toMessage.
+ * The bytes per message of each format are printed at the start of the trial
+ * ("wire size"): they are what the broker stores and sends.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MessageConversionBenchmark {
+
+    @Param({"json", "binary"})
+    public String format;
+
+    // Spring Boot's ObjectMapper is configured like Jackson2ObjectMapperBuilder's
+    private final MessageConverter converter = new RabbitMQConfig()
+            .converter(Jackson2ObjectMapperBuilder.json().build());
+
+    private String contentType;
+    private NotificationMessage notification;
+    private Message message;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        contentType = format.equals("binary") ? NotificationMessageBinaryConverter.CONTENT_TYPE : null;
+        notification = new NotificationMessage("CHAT", "Your MRI report from 12 March is ready, please review it.",
+                1234567L, null, Instant.parse("2030-01-01T00:00:00Z"));
+        message = converter.toMessage(notification, properties());
+        // Sanity check: the round trip has to give the message back.
+        if (!notification.equals(converter.fromMessage(message))) {
+            throw new IllegalStateException("Round trip changed the message");
+        }
+        System.out.printf("%nwire size (%s): %d bytes, content type %s%n", format, message.getBody().length,
+                message.getMessageProperties().getContentType());
+    }
+
+    @Benchmark
+    public Message toMessage() {
+        return converter.toMessage(notification, properties());
+    }
+
+    @Benchmark
+    public Object fromMessage() {
+        return converter.fromMessage(message);
+    }
+
+    // What a producer sets to choose the format; without it the template sends JSON.
+    private MessageProperties properties() {
+        MessageProperties properties = new MessageProperties();
+        if (contentType != null) {
+            properties.setContentType(contentType);
+        }
+        return properties;
+    }
+}
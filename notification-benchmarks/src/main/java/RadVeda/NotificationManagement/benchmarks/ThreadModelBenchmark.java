@@ -0,0 +1,95 @@
+package RadVeda.NotificationManagement.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WHAT IT IS:
+ * A load test of the two request thread models: a burst of `concurrency`
+ * requests that each block for `blockMillis` (the remote authenticate /
+ * is*Valid call) on either
+ * - PLATFORM: a fixed pool of 200 threads, Tomcat's default
+ * server.tomcat.threads.max, or
+ * - VIRTUAL: one virtual thread per request (the "virtual-threads" profile).
+ * 
+ * WHY WE NEED IT:
+ * The score is the time until the whole burst is served. On the platform pool
+ * it grows with concurrency / 200; on virtual threads it stays near one
+ * blockMillis until CPU, not threads, runs out.
+ * 
+ * This is the model only (a sleep stands for the remote call). The same
+ * comparison on the real application, through Tomcat, the security filter and
+ * JPA, is notification-loadtest's ThreadModelComparison.
+ * 
+ * VIRTUAL needs a Java 21 JVM (looked up reflectively so this module still
+ * builds on 17); BenchmarkRunner leaves it out on older ones.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class ThreadModelBenchmark {
+
+    static final String THREADS_PARAM = "threads";
+    static final String PLATFORM = "PLATFORM";
+    static final String VIRTUAL = "VIRTUAL";
+
+    private static final int TOMCAT_MAX_THREADS = 200;
+
+    @Param({PLATFORM, VIRTUAL})
+    public String threads;
+
+    @Param({"200", "1000", "5000"})
+    public int concurrency;
+
+    @Param({"20"})
+    public int blockMillis;
+
+    private ExecutorService executor;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        if (VIRTUAL.equals(threads)) {
+            try {
+                executor = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor")
+                        .invoke(null);
+            } catch (NoSuchMethodException e) {
+                throw new UnsupportedOperationException("VIRTUAL needs Java 21, running on "
+                        + System.getProperty("java.version"));
+            }
+        } else {
+            executor = Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public int burst() throws Exception {
+        List<Future<Integer>> requests = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            int request = i;
+            requests.add(executor.submit(() -> {
+                Thread.sleep(blockMillis);
+                return request;
+            }));
+        }
+        int served = 0;
+        for (Future<Integer> request : requests) {
+            request.get();
+            served++;
+        }
+        return served;
+    }
+}
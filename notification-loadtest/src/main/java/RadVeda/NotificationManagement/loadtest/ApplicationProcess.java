@@ -0,0 +1,163 @@
+package RadVeda.NotificationManagement.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * WHAT IT IS:
+ * notification-service started as its own process (a JVM or the native
+ * executable), on a free port, pointed at the stand-ins of this module. Used
+ * where an in-process start would not measure the right thing: StartupBenchmark
+ * (fresh JVMs) and NativeSmokeTest (a binary).
+ *
+ * The process's output goes to `log`; close() stops it with SIGTERM, so the
+ * application shuts down gracefully (and an H2 file database is closed cleanly).
+ */
+class ApplicationProcess implements AutoCloseable {
+
+    static final String MAIN_CLASS = "RadVeda.NotificationManagement.NotificationManagementApplication";
+
+    // Only used when STORAGE_ENCRYPTION_SECRET_KEY is not set (see KeyRing): the database is thrown away anyway.
+    private static final String THROWAWAY_STORAGE_KEY = "loadtest-key-16b";
+
+    private final Process process;
+    private final String baseUrl;
+    private final Path log;
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(1))
+            .build();
+
+    private ApplicationProcess(Process process, int port, Path log) {
+        this.process = process;
+        this.baseUrl = "http://localhost:" + port;
+        this.log = log;
+    }
+
+    /**
+     * `java <jvmOptions> -cp <this JVM's class path minus directories> <main class>`.
+     * AppCDS only archives classes from jars: with notification-service installed,
+     * the only directory is this module's own classes, which the application
+     * doesn't need.
+     */
+    static List<String> jvmCommand(List<String> jvmOptions) {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmOptions);
+        command.add("-cp");
+        command.add(Arrays.stream(System.getProperty("java.class.path").split(File.pathSeparator))
+                .filter(entry -> !Files.isDirectory(Path.of(entry)))
+                .collect(Collectors.joining(File.pathSeparator)));
+        command.add(MAIN_CLASS);
+        return command;
+    }
+
+    /**
+     * Starts `command` followed by the arguments that point the application at the
+     * stand-ins, the given database and a free port.
+     */
+    static ApplicationProcess start(List<String> command, String datasourceUrl, StubDependencies stubs, int amqpPort,
+            Path log) throws IOException {
+        int port = EmbeddedAmqpBroker.freePort();
+        List<String> full = new ArrayList<>(command);
+        full.addAll(List.of(
+                "--server.port=" + port,
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--spring.datasource.url=" + datasourceUrl,
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                // fast-start sets the MySQL dialect (no JDBC metadata lookup); here the database is H2
+                "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                "--spring.rabbitmq.host=localhost",
+                "--spring.rabbitmq.port=" + amqpPort,
+                "--spring.rabbitmq.username=guest",
+                "--spring.rabbitmq.password=guest",
+                "--external-services.user-management.url=" + stubs.userManagementUrl(),
+                "--external-services.collaboration.url=" + stubs.collaborationUrl(),
+                "--external-services.consent.url=" + stubs.consentUrl(),
+                "--notifications.retention.enabled=false"));
+
+        Files.createDirectories(log.getParent());
+        ProcessBuilder builder = new ProcessBuilder(full)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile());
+        builder.environment().putIfAbsent("STORAGE_ENCRYPTION_SECRET_KEY", THROWAWAY_STORAGE_KEY);
+        return new ApplicationProcess(builder.start(), port, log);
+    }
+
+    /** Waits for the first 200 from /actuator/health (what a readiness probe sees). */
+    void awaitHealthy(Duration timeout) throws InterruptedException {
+        HttpRequest health = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/health")).build();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited with " + process.exitValue() + ", see " + log);
+            }
+            try {
+                if (client.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException notListeningYet) {
+                // port not open yet
+            }
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        throw new IllegalStateException("Not healthy after " + timeout + ", see " + log);
+    }
+
+    /** For a run that stops by itself (e.g. spring.context.exit=onRefresh): false if it is still running. */
+    boolean awaitExit(Duration timeout) throws InterruptedException {
+        return process.waitFor(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /** GET as PATIENT `userId`. */
+    HttpResponse<String> get(String path, long userId) throws IOException, InterruptedException {
+        return client.send(HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", LoadTestUsers.authorization(userId))
+                .build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    /** Resident set size in KiB, from /proc (Linux), or -1 where there is none. */
+    long residentKib() {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc", String.valueOf(process.pid()), "status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("\\D", ""));
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // not Linux, or the process is gone
+        }
+        return -1;
+    }
+
+    String baseUrl() {
+        return baseUrl;
+    }
+
+    Path log() {
+        return log;
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(30, TimeUnit.SECONDS)) {
+            process.destroyForcibly().waitFor();
+        }
+    }
+}
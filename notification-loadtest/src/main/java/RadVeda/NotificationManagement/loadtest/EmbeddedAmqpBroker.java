@@ -0,0 +1,71 @@
+package RadVeda.NotificationManagement.loadtest;
+
+import org.apache.qpid.server.SystemLauncher;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * WHAT IT IS:
+ * An in-process AMQP 0-9-1 broker (Apache Qpid Broker-J, in-memory store) on a
+ * free localhost port, configured by embedded-broker.json.
+ *
+ * WHY WE NEED IT:
+ * The service talks AMQP 0-9-1 through the RabbitMQ client; Qpid speaks the
+ * same protocol, so the consumer path (listener container, JSON conversion,
+ * acks) runs for real without a RabbitMQ install. Throughput is that of Qpid,
+ * not of RabbitMQ: for broker-sensitive numbers use amqp=external.
+ */
+class EmbeddedAmqpBroker implements AutoCloseable {
+
+    private final SystemLauncher launcher = new SystemLauncher();
+    private final Path workDir;
+    private final int port;
+
+    EmbeddedAmqpBroker(String username, String password) throws Exception {
+        URL config = EmbeddedAmqpBroker.class.getResource("/embedded-broker.json");
+        if (config == null) {
+            throw new IllegalStateException("embedded-broker.json is missing from the classpath");
+        }
+        workDir = Files.createTempDirectory("loadtest-broker");
+        port = freePort();
+
+        Map<String, String> context = new HashMap<>();
+        context.put("qpid.work_dir", workDir.toString());
+        context.put("loadtest.amqp.port", String.valueOf(port));
+        context.put("loadtest.amqp.username", username);
+        context.put("loadtest.amqp.password", password);
+
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put("type", "Memory");
+        attributes.put("initialConfigurationLocation", config.toExternalForm());
+        attributes.put("startupLoggedToSystemOut", false);
+        attributes.put("context", context);
+        launcher.startup(attributes);
+    }
+
+    int port() {
+        return port;
+    }
+
+    @Override
+    public void close() {
+        launcher.shutdown();
+        try (var files = Files.walk(workDir)) {
+            files.sorted((a, b) -> b.compareTo(a)).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            // a temp directory left behind is not worth failing the run for
+        }
+    }
+
+    static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package RadVeda.NotificationManagement.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * WHAT IT IS:
+ * Latencies and errors of every operation of a run ("rest.getInbox",
+ * "ws.delivery", ...), one HdrHistogram Recorder each.
+ *
+ * HOW IT WORKS:
+ * Recorders are lock-free for the recording threads. reset() (end of the
+ * warmup) throws away everything recorded so far; snapshot() returns what was
+ * recorded since, so the warmup never shows in the percentiles. Values are
+ * nanoseconds, kept with 3 significant digits.
+ */
+class LatencyStats {
+
+    private final Map<String, Recorder> recorders = new ConcurrentSkipListMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentSkipListMap<>();
+
+    void record(String operation, long nanos) {
+        recorders.computeIfAbsent(operation, name -> new Recorder(3)).recordValue(Math.max(nanos, 0));
+    }
+
+    void error(String operation) {
+        errors.computeIfAbsent(operation, name -> new LongAdder()).increment();
+    }
+
+    void reset() {
+        recorders.values().forEach(Recorder::reset);
+        errors.values().forEach(LongAdder::reset);
+    }
+
+    /** One result per operation that recorded anything (latency or error) since the last reset. */
+    List<Result> snapshot(long measuredNanos) {
+        Map<String, Histogram> histograms = new ConcurrentSkipListMap<>();
+        recorders.forEach((operation, recorder) -> histograms.put(operation, recorder.getIntervalHistogram()));
+        errors.keySet().forEach(operation -> histograms.computeIfAbsent(operation, name -> new Histogram(3)));
+
+        double seconds = measuredNanos / 1e9;
+        List<Result> results = new ArrayList<>();
+        histograms.forEach((operation, histogram) -> {
+            LongAdder failed = errors.get(operation);
+            results.add(new Result(operation,
+                    histogram.getTotalCount(),
+                    failed == null ? 0 : failed.sum(),
+                    histogram.getTotalCount() / seconds,
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(90)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue())));
+        });
+        return results;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /** Count and errors over the measured window; throughput in operations/s, latencies in ms. */
+    record Result(String operation, long count, long errors, double throughput,
+            double p50, double p90, double p99, double p999, double max) {
+    }
+}
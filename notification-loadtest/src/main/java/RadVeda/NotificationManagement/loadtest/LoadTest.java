@@ -0,0 +1,155 @@
+package RadVeda.NotificationManagement.loadtest;
+
+import RadVeda.NotificationManagement.NotificationManagementApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WHAT IT IS:
+ * The entry point of `mvn exec:exec` for this module: one load-test run of
+ * notification-service, with no outside infrastructure.
+ *
+ * WHY WE NEED IT:
+ * The JMH suites measure single methods; this measures the service as a whole
+ * (security filter, JPA, encryption, listener container, STOMP broker) under
+ * concurrent mixed traffic, so pool sizes, caches and locks show up. Everything
+ * it needs starts in this JVM, so it runs the same on a laptop and in CI.
+ *
+ * HOW IT WORKS:
+ * 1. Starts StubDependencies (user-management, collaboration, consent) and,
+ * unless amqp=external, an EmbeddedAmqpBroker.
+ * 2. Starts the application in-process on a random port, on H2 in MySQL mode
+ * (schema created by Hibernate), pointed at the stand-ins.
+ * 3. Connects the WebSocket subscribers, then starts publishing (consumer path)
+ * and the REST clients, all at once.
+ * 4. After the warmup, clears the stats and measures for `duration`.
+ * 5. Prints throughput and latency percentiles per operation and saves them,
+ * with the options, to loadtest-results/<timestamp>.json.
+ * The numbers are those of this machine with H2 and the stand-ins: compare runs
+ * with each other, not with production.
+ */
+public class LoadTest {
+
+    // Only used when STORAGE_ENCRYPTION_SECRET_KEY is not set (see KeyRing): H2 is thrown away anyway.
+    private static final String THROWAWAY_STORAGE_KEY = "loadtest-key-16b";
+
+    public static void main(String[] args) throws Exception {
+        measure(LoadTestOptions.parse(args));
+    }
+
+    /** One run, printed and saved; ThreadModelComparison runs several in this JVM. */
+    static List<LatencyStats.Result> measure(LoadTestOptions options) throws Exception {
+        LatencyStats stats = new LatencyStats();
+
+        if (System.getenv("STORAGE_ENCRYPTION_SECRET_KEY") == null) {
+            System.setProperty("STORAGE_ENCRYPTION_SECRET_KEY", THROWAWAY_STORAGE_KEY);
+        }
+
+        try (StubDependencies stubs = new StubDependencies(options.stubLatency());
+                EmbeddedAmqpBroker broker = options.embeddedBroker()
+                        ? new EmbeddedAmqpBroker(options.amqpUsername(), options.amqpPassword())
+                        : null) {
+            int amqpPort = broker != null ? broker.port() : options.amqpPort();
+
+            ConfigurableApplicationContext app = SpringApplication.run(NotificationManagementApplication.class,
+                    applicationArgs(options, stubs, amqpPort));
+            try {
+                int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+                String baseUrl = "http://localhost:" + port;
+                ObjectMapper objectMapper = app.getBean(ObjectMapper.class);
+
+                List<LatencyStats.Result> results = run(options, baseUrl, amqpPort, objectMapper, stats);
+                print(results);
+                save(options, results, objectMapper);
+                return results;
+            } finally {
+                app.close();
+            }
+        }
+    }
+
+    private static List<LatencyStats.Result> run(LoadTestOptions options, String baseUrl, int amqpPort,
+            ObjectMapper objectMapper, LatencyStats stats) throws Exception {
+        try (WebSocketWorkload webSockets = new WebSocketWorkload(objectMapper, stats);
+                PublishWorkload publisher = new PublishWorkload(options.amqpHost(), amqpPort,
+                        options.amqpUsername(), options.amqpPassword(), objectMapper, options.binaryWireFormat(),
+                        stats);
+                RestWorkload rest = new RestWorkload(baseUrl, options.users(), stats)) {
+            System.out.printf("Connecting %d WebSocket clients...%n", options.wsClients());
+            webSockets.start(baseUrl, options.wsClients());
+            publisher.start(options.publishRate(), options.wsClients());
+            rest.start(options.restClients());
+
+            System.out.printf("Warming up for %s...%n", options.warmup());
+            TimeUnit.NANOSECONDS.sleep(options.warmup().toNanos());
+            stats.reset();
+            long start = System.nanoTime();
+
+            System.out.printf("Measuring for %s...%n", options.duration());
+            TimeUnit.NANOSECONDS.sleep(options.duration().toNanos());
+            return stats.snapshot(System.nanoTime() - start);
+        }
+    }
+
+    private static String[] applicationArgs(LoadTestOptions options, StubDependencies stubs, int amqpPort) {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--spring.datasource.url=jdbc:h2:mem:loadtest;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--spring.jpa.show-sql=false",
+                "--spring.rabbitmq.host=" + options.amqpHost(),
+                "--spring.rabbitmq.port=" + amqpPort,
+                "--spring.rabbitmq.username=" + options.amqpUsername(),
+                "--spring.rabbitmq.password=" + options.amqpPassword(),
+                "--external-services.user-management.url=" + stubs.userManagementUrl(),
+                "--external-services.collaboration.url=" + stubs.collaborationUrl(),
+                "--external-services.consent.url=" + stubs.consentUrl(),
+                // background jobs would only add noise to the numbers
+                "--notifications.retention.enabled=false"));
+        if (!options.profiles().isEmpty()) {
+            args.add("--spring.profiles.active=" + options.profiles());
+        }
+        return args.toArray(String[]::new);
+    }
+
+    private static void print(List<LatencyStats.Result> results) {
+        System.out.printf("%n%-42s %9s %7s %10s %9s %9s %9s %9s %9s%n", "operation", "count", "errors", "ops/s",
+                "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (LatencyStats.Result r : results) {
+            System.out.printf("%-42s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n", r.operation(), r.count(),
+                    r.errors(), r.throughput(), r.p50(), r.p90(), r.p99(), r.p999(), r.max());
+        }
+    }
+
+    private static void save(LoadTestOptions options, List<LatencyStats.Result> results, ObjectMapper objectMapper)
+            throws Exception {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("options", options);
+        report.put("java", System.getProperty("java.version"));
+        report.put("results", results);
+
+        Path file = Path.of("loadtest-results",
+                LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json");
+        Files.createDirectories(file.getParent());
+        objectMapper.copy().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+        System.out.println("\nResults: " + file);
+    }
+}
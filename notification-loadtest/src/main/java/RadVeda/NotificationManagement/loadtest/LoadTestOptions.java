@@ -0,0 +1,105 @@
+package RadVeda.NotificationManagement.loadtest;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * WHAT IT IS:
+ * The knobs of one load-test run, parsed from `key=value` arguments
+ * (-Dloadtest.args="duration=PT60S rest-clients=32").
+ *
+ * OPTIONS (default):
+ * - warmup (PT10S), duration (PT30S): measured window comes after the warmup.
+ * - users (200): PATIENT ids 1..users share the REST traffic.
+ * - rest-clients (16): closed-loop REST clients (each sends its next request
+ * when the previous answer is in). Above 200 they outnumber Tomcat's request
+ * threads (server.tomcat.threads.max) on the default profile.
+ * - ws-clients (50): STOMP subscribers, users 1..ws-clients.
+ * - publish-rate (200): AMQP notifications per second, for subscribed users.
+ * - wire-format (json): "json" or "binary" (NotificationMessageBinaryConverter),
+ * the format the publisher sends.
+ * - stub-latency (PT0.002S): added to every answer of the stub dependencies.
+ * - amqp (embedded): "embedded" starts an in-process broker; "external" uses
+ * the one at amqp-host / amqp-port (e.g. a `docker run rabbitmq` container).
+ * - amqp-host (localhost), amqp-port (5672), amqp-username / amqp-password
+ * (guest): only for amqp=external.
+ * - profiles (none): spring.profiles.active of the application, e.g.
+ * "virtual-threads" (needs a Java 21 JVM; on 17 Spring Boot would silently
+ * keep platform threads, so it is refused).
+ */
+record LoadTestOptions(
+        Duration warmup,
+        Duration duration,
+        int users,
+        int restClients,
+        int wsClients,
+        int publishRate,
+        boolean binaryWireFormat,
+        Duration stubLatency,
+        boolean embeddedBroker,
+        String amqpHost,
+        int amqpPort,
+        String amqpUsername,
+        String amqpPassword,
+        String profiles) {
+
+    private static final Set<String> KEYS = Set.of("warmup", "duration", "users", "rest-clients", "ws-clients",
+            "publish-rate", "wire-format", "stub-latency", "amqp", "amqp-host", "amqp-port", "amqp-username",
+            "amqp-password", "profiles");
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            String key = eq < 0 ? arg : arg.substring(0, eq);
+            if (eq < 0 || !KEYS.contains(key)) {
+                throw new IllegalArgumentException("Unknown option '" + arg + "', expected key=value with key in "
+                        + KEYS);
+            }
+            values.put(key, arg.substring(eq + 1));
+        }
+
+        String amqp = values.getOrDefault("amqp", "embedded");
+        if (!amqp.equals("embedded") && !amqp.equals("external")) {
+            throw new IllegalArgumentException("amqp must be 'embedded' or 'external', not '" + amqp + "'");
+        }
+
+        String wireFormat = values.getOrDefault("wire-format", "json");
+        if (!wireFormat.equals("json") && !wireFormat.equals("binary")) {
+            throw new IllegalArgumentException("wire-format must be 'json' or 'binary', not '" + wireFormat + "'");
+        }
+
+        LoadTestOptions options = new LoadTestOptions(
+                Duration.parse(values.getOrDefault("warmup", "PT10S")),
+                Duration.parse(values.getOrDefault("duration", "PT30S")),
+                Integer.parseInt(values.getOrDefault("users", "200")),
+                Integer.parseInt(values.getOrDefault("rest-clients", "16")),
+                Integer.parseInt(values.getOrDefault("ws-clients", "50")),
+                Integer.parseInt(values.getOrDefault("publish-rate", "200")),
+                wireFormat.equals("binary"),
+                Duration.parse(values.getOrDefault("stub-latency", "PT0.002S")),
+                amqp.equals("embedded"),
+                values.getOrDefault("amqp-host", "localhost"),
+                Integer.parseInt(values.getOrDefault("amqp-port", "5672")),
+                values.getOrDefault("amqp-username", "guest"),
+                values.getOrDefault("amqp-password", "guest"),
+                values.getOrDefault("profiles", ""));
+
+        if (options.wsClients > options.users) {
+            throw new IllegalArgumentException("ws-clients (" + options.wsClients + ") can't exceed users ("
+                    + options.users + ")");
+        }
+        if (options.publishRate > 0 && options.wsClients == 0) {
+            throw new IllegalArgumentException("publish-rate needs at least one ws-client to deliver to");
+        }
+        if (Arrays.asList(options.profiles.split(",")).contains("virtual-threads")
+                && Runtime.version().feature() < 21) {
+            throw new IllegalArgumentException("profiles=virtual-threads needs Java 21, running on "
+                    + System.getProperty("java.version"));
+        }
+        return options;
+    }
+}
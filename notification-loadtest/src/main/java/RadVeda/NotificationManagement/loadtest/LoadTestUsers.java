@@ -0,0 +1,26 @@
+package RadVeda.NotificationManagement.loadtest;
+
+import java.util.Base64;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * The load-test users: PATIENT ids 1..n. Their JWTs are unsigned; the service
+ * only reads the role from the payload and asks (stub) user-management for the
+ * id, which StubDependencies takes from the "sub" claim.
+ */
+final class LoadTestUsers {
+
+    static final String TYPE = "PATIENT";
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final String HEADER = ENCODER.encodeToString("{\"alg\":\"none\"}".getBytes(UTF_8));
+
+    private LoadTestUsers() {
+    }
+
+    static String authorization(long userId) {
+        String payload = "{\"sub\":\"" + userId + "\",\"role\":\"" + TYPE + "\"}";
+        return "Bearer " + HEADER + "." + ENCODER.encodeToString(payload.getBytes(UTF_8)) + ".loadtest";
+    }
+}
@@ -0,0 +1,145 @@
+package RadVeda.NotificationManagement.loadtest;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.LoggerFactory;
+
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WHAT IT IS:
+ * A smoke test of the native executable (mvn -Pnative package, see the native
+ * profile of notification-service) against the stand-ins of this module:
+ *   mvn -B -pl notification-service -am -Pnative,native-smoke install -DskipTests
+ *   mvn -B -pl notification-loadtest exec:exec \
+ *       -Dloadtest.main=RadVeda.NotificationManagement.loadtest.NativeSmokeTest \
+ *       -Dloadtest.args="binary=../notification-service/target/notification-service"
+ * `binary=jvm` runs the same checks against the application in a JVM (class
+ * path of this module), to tell a broken check from a broken native image.
+ *
+ * WHY WE NEED IT:
+ * A native image fails at runtime, not at build time, when a hint is missing:
+ * a NotificationMessage that binds to nulls, a converter Hibernate can't
+ * create, a STOMP frame that doesn't serialize. The unit tests run on the JVM
+ * and can't see any of it, so the binary itself has to go through every path
+ * that uses reflection.
+ *
+ * HOW IT WORKS:
+ * 1. Starts StubDependencies and an EmbeddedAmqpBroker here, then the binary
+ * with the prod,fast-start profiles (what the image was built for) on an H2
+ * in-memory database (schema created by Hibernate), and waits for
+ * /actuator/health.
+ * 2. Checks, in order:
+ *    - REST + JPA + converters: GET /notifications/getUnreadCount answers 200;
+ *    - STOMP + AMQP + Jackson: a subscriber of /topic/user/1 receives CHAT
+ *      notifications published to notification_exchange (PublishWorkload,
+ *      WebSocketWorkload), and the unread count goes up;
+ *    - decryption of what was stored: GET /notifications/getInbox answers 200.
+ * 3. Prints the start-up time and resident memory, then PASS or FAIL (exit
+ * code 1). The application's output is in loadtest-results/native-smoke.log.
+ */
+public class NativeSmokeTest {
+
+    private static final Path DEFAULT_BINARY = Path.of("..", "notification-service", "target", "notification-service");
+    private static final Path LOG = Path.of("loadtest-results", "native-smoke.log");
+    private static final Duration READY_TIMEOUT = Duration.ofMinutes(3);
+    private static final Duration DELIVERY_TIMEOUT = Duration.ofSeconds(15);
+
+    public static void main(String[] args) throws Exception {
+        String binary = DEFAULT_BINARY.toString();
+        for (String arg : args) {
+            if (!arg.startsWith("binary=")) {
+                throw new IllegalArgumentException("Unknown option '" + arg + "', expected binary=<path>|jvm");
+            }
+            binary = arg.substring("binary=".length());
+        }
+        List<String> command;
+        if (binary.equals("jvm")) {
+            command = ApplicationProcess.jvmCommand(List.of());
+        } else if (Files.isExecutable(Path.of(binary))) {
+            command = new ArrayList<>(List.of(binary));
+        } else {
+            throw new IllegalArgumentException("No executable at " + binary + ": build it with mvn -Pnative package");
+        }
+        command.add("--spring.profiles.active=prod,fast-start");
+        command.add("--spring.jpa.hibernate.ddl-auto=create");
+
+        // Nothing configures logging in this JVM (no Spring Boot here): keep the broker's start-up log quiet.
+        ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+        boolean passed;
+        try (StubDependencies stubs = new StubDependencies(Duration.ZERO);
+                EmbeddedAmqpBroker broker = new EmbeddedAmqpBroker("guest", "guest")) {
+            passed = run(command, stubs, broker.port());
+        }
+        System.out.println(passed ? "PASS" : "FAIL (application output: " + LOG + ")");
+        System.exit(passed ? 0 : 1);
+    }
+
+    private static boolean run(List<String> command, StubDependencies stubs, int amqpPort) throws Exception {
+        long start = System.nanoTime();
+        try (ApplicationProcess app = ApplicationProcess.start(command,
+                "jdbc:h2:mem:smoke;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", stubs, amqpPort, LOG)) {
+            app.awaitHealthy(READY_TIMEOUT);
+            System.out.printf("ready after %.0f ms%n", (System.nanoTime() - start) / 1e6);
+
+            if (!check("GET /notifications/getUnreadCount", app.get("/notifications/getUnreadCount", 1))) {
+                return false;
+            }
+
+            ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+            LatencyStats stats = new LatencyStats();
+            long unread;
+            try (WebSocketWorkload webSocket = new WebSocketWorkload(objectMapper, stats);
+                    PublishWorkload publisher = new PublishWorkload("localhost", amqpPort, "guest", "guest",
+                            objectMapper, false, stats)) {
+                webSocket.start(app.baseUrl(), 1);
+                publisher.start(10, 1);
+                unread = awaitUnread(app, objectMapper);
+            }
+            LatencyStats.Result delivery = stats.snapshot(1).stream()
+                    .filter(result -> result.operation().equals("ws.delivery"))
+                    .findFirst()
+                    .orElse(null);
+            long delivered = delivery == null ? 0 : delivery.count();
+            long failed = delivery == null ? 0 : delivery.errors();
+            System.out.printf("AMQP -> STOMP: %d unread, %d pushed, %d unreadable%n", unread, delivered, failed);
+            if (unread == 0 || delivered == 0 || failed > 0) {
+                return false;
+            }
+
+            if (!check("GET /notifications/getInbox", app.get("/notifications/getInbox", 1))) {
+                return false;
+            }
+            long rss = app.residentKib();
+            System.out.println("resident memory: " + (rss < 0 ? "n/a" : rss / 1024 + " MiB"));
+            return true;
+        }
+    }
+
+    private static long awaitUnread(ApplicationProcess app, ObjectMapper objectMapper) throws Exception {
+        long deadline = System.nanoTime() + DELIVERY_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            HttpResponse<String> response = app.get("/notifications/getUnreadCount", 1);
+            long total = response.statusCode() == 200
+                    ? objectMapper.readTree(response.body()).path("total").asLong()
+                    : 0;
+            if (total > 0) {
+                return total;
+            }
+            TimeUnit.MILLISECONDS.sleep(200);
+        }
+        return 0;
+    }
+
+    private static boolean check(String name, HttpResponse<String> response) {
+        System.out.printf("%s: %d%n", name, response.statusCode());
+        return response.statusCode() == 200;
+    }
+}
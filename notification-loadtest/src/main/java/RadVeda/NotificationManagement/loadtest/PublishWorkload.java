@@ -0,0 +1,98 @@
+package RadVeda.NotificationManagement.loadtest;
+
+import RadVeda.NotificationManagement.config.RabbitMQConfig;
+import RadVeda.NotificationManagement.consumer.NotificationMessage;
+import RadVeda.NotificationManagement.consumer.NotificationMessageBinaryConverter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+
+import java.util.Date;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WHAT IT IS:
+ * The upstream services' side of the consumer path: publishes CHAT
+ * notifications to notification_exchange at `publish-rate` per second, round
+ * robin over the subscribed users, on its own connection (like a real
+ * producer). Each body is "lt:<System.nanoTime()>", which WebSocketWorkload
+ * turns into an end-to-end latency.
+ *
+ * HOW IT PACES:
+ * Every 10 ms it sends the messages that are due by then (open loop): a slow
+ * consumer shows up as growing delivery latency, not as a lower send rate.
+ * "amqp.publish" is the time of one send (a socket write: no publisher
+ * confirms, so it says nothing about delivery).
+ * With `binary`, messages go out in the compact format of
+ * NotificationMessageBinaryConverter instead of JSON, like a producer that has
+ * migrated.
+ */
+class PublishWorkload implements AutoCloseable {
+
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final CachingConnectionFactory connectionFactory;
+    private final RabbitTemplate template;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "amqp-publisher");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final LatencyStats stats;
+
+    private long started;
+    private long sent;
+    private long nextRecipient;
+
+    PublishWorkload(String host, int port, String username, String password, ObjectMapper objectMapper,
+            boolean binary, LatencyStats stats) {
+        this.stats = stats;
+        connectionFactory = new CachingConnectionFactory(host, port);
+        connectionFactory.setUsername(username);
+        connectionFactory.setPassword(password);
+        template = new RabbitTemplate(connectionFactory);
+        template.setMessageConverter(binary
+                ? new NotificationMessageBinaryConverter()
+                : new Jackson2JsonMessageConverter(objectMapper));
+    }
+
+    void start(int ratePerSecond, int recipients) {
+        if (ratePerSecond <= 0) {
+            return;
+        }
+        started = System.nanoTime();
+        scheduler.scheduleAtFixedRate(() -> publishDue(ratePerSecond, recipients), 0, TICK_NANOS,
+                TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        scheduler.shutdownNow();
+        scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        connectionFactory.destroy();
+    }
+
+    private void publishDue(int ratePerSecond, int recipients) {
+        long due = (System.nanoTime() - started) * ratePerSecond / TimeUnit.SECONDS.toNanos(1);
+        for (; sent < due; sent++) {
+            long recipientId = 1 + nextRecipient++ % recipients;
+            long start = System.nanoTime();
+            NotificationMessage message = new NotificationMessage("CHAT", WebSocketWorkload.BODY_PREFIX + start,
+                    recipientId, null, null);
+            try {
+                template.convertAndSend(RabbitMQConfig.EXCHANGE_NAME, RabbitMQConfig.ROUTING_KEY, message, m -> {
+                    // lets the service record its queue lag (notifications.queue.lag)
+                    m.getMessageProperties().setTimestamp(new Date());
+                    return m;
+                });
+                stats.record("amqp.publish", System.nanoTime() - start);
+            } catch (AmqpException e) {
+                stats.error("amqp.publish");
+            }
+        }
+    }
+}
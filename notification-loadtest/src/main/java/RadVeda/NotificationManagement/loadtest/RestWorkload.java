@@ -0,0 +1,118 @@
+package RadVeda.NotificationManagement.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * WHAT IT IS:
+ * `rest-clients` closed-loop clients, each sending its next request as soon as
+ * the previous answer is in, for a random user of 1..users. Recorded as
+ * "rest.<endpoint>" and, all endpoints together, as "rest.all"; non-2xx
+ * answers and I/O failures as errors.
+ *
+ * THE MIX (weights out of 100), roughly what the web client does:
+ * 40 getUnreadCount (badge), 25 getInbox (open the inbox), 20
+ * getChatNotificationsPage (scroll), 10 getInboxSince (incremental refresh),
+ * 5 markAllChatNotificationsAsRead.
+ */
+class RestWorkload implements AutoCloseable {
+
+    private record Call(String name, String method, String query, int weight) {
+    }
+
+    private static final List<Call> MIX = List.of(
+            new Call("getUnreadCount", "GET", "", 40),
+            new Call("getInbox", "GET", "", 25),
+            new Call("getChatNotificationsPage", "GET", "?limit=50", 20),
+            new Call("getInboxSince", "GET", "?since=", 10),
+            new Call("markAllChatNotificationsAsRead", "PUT", "", 5));
+
+    static final String ALL = "rest.all";
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final List<Thread> threads = new ArrayList<>();
+    private final String baseUrl;
+    private final int users;
+    private final LatencyStats stats;
+    private volatile boolean running = true;
+
+    RestWorkload(String baseUrl, int users, LatencyStats stats) {
+        this.baseUrl = baseUrl + "/notifications/";
+        this.users = users;
+        this.stats = stats;
+    }
+
+    void start(int clients) {
+        for (int i = 0; i < clients; i++) {
+            Thread thread = new Thread(this::loop, "rest-client-" + i);
+            thread.setDaemon(true);
+            threads.add(thread);
+            thread.start();
+        }
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        for (Thread thread : threads) {
+            thread.join(10_000);
+        }
+    }
+
+    private void loop() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (running) {
+            Call call = pick(random.nextInt(100));
+            long userId = 1 + random.nextInt(users);
+            String query = call.query.equals("?since=")
+                    ? "?since=" + Instant.now().minusSeconds(60)
+                    : call.query;
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + call.name + query))
+                    .method(call.method, HttpRequest.BodyPublishers.noBody())
+                    .header("Authorization", LoadTestUsers.authorization(userId))
+                    .timeout(Duration.ofSeconds(10))
+                    .build();
+
+            String operation = "rest." + call.name;
+            long start = System.nanoTime();
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() / 100 == 2) {
+                    long nanos = System.nanoTime() - start;
+                    stats.record(operation, nanos);
+                    stats.record(ALL, nanos);
+                } else {
+                    stats.error(operation);
+                    stats.error(ALL);
+                }
+            } catch (IOException e) {
+                stats.error(operation);
+                stats.error(ALL);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private static Call pick(int roll) {
+        for (Call call : MIX) {
+            roll -= call.weight;
+            if (roll < 0) {
+                return call;
+            }
+        }
+        return MIX.get(0);
+    }
+}
@@ -0,0 +1,212 @@
+package RadVeda.NotificationManagement.loadtest;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * WHAT IT IS:
+ * Start-up time of notification-service, default configuration vs the
+ * "fast-start" profile (application-fast-start.yml), with and without AppCDS
+ * and Spring AOT:
+ *   mvn -B -pl notification-loadtest exec:exec \
+ *       -Dloadtest.main=RadVeda.NotificationManagement.loadtest.StartupBenchmark -Dloadtest.args="runs=5"
+ *
+ * WHY WE NEED IT:
+ * What matters on scale-out is how long a NEW JVM takes until it can serve, so
+ * every run is a fresh process; an in-process restart would reuse loaded
+ * classes and JIT-compiled code.
+ *
+ * HOW IT WORKS:
+ * 1. Starts StubDependencies and an EmbeddedAmqpBroker here, shared by all runs.
+ * 2. For each variant, `runs` times: starts the application in a child JVM on
+ * an H2 file database (MySQL mode) and measures
+ *    - ready: process start -> first 200 from /actuator/health (what a
+ *      readiness probe sees);
+ *    - first request: one GET /notifications/getUnreadCount right after. Lazy
+ *      beans are created here, so a profile that only moves work from start-up
+ *      to the first request shows up.
+ * 3. AppCDS variants first do a training run (-XX:ArchiveClassesAtExit,
+ * stopped after the context refresh) with the same flags.
+ * 4. Prints the median and min per variant and saves them to
+ * loadtest-results/startup-<timestamp>.json. The output of every child JVM is
+ * in loadtest-results/startup-logs/.
+ *
+ * VARIANTS:
+ * - default: application.yml, eager beans, Hibernate schema update. It runs
+ *   first, so its first run also creates the schema the others use.
+ * - fast-start: profiles prod,fast-start.
+ * - fast-start + AppCDS.
+ * - fast-start + AOT + AppCDS: only when notification-service was installed
+ *   with `mvn -Pfast-start install` (its AOT code is for prod,fast-start).
+ * The child class path is this JVM's minus directories (AppCDS only archives
+ * classes from jars, see ApplicationProcess): install notification-service first and run with
+ * `-pl notification-loadtest`, not `-am`.
+ */
+public class StartupBenchmark {
+
+    private static final String AOT_INITIALIZER = ApplicationProcess.MAIN_CLASS.replace('.', '/')
+            + "__ApplicationContextInitializer.class";
+    private static final String FAST_START_PROFILES = "prod,fast-start";
+    private static final Duration READY_TIMEOUT = Duration.ofMinutes(3);
+    private static final Path LOG_DIR = Path.of("loadtest-results", "startup-logs");
+
+    private record Variant(String name, List<String> jvmOptions, String profiles, boolean appCds) {
+    }
+
+    record Result(String variant, int runs, double readyMedianMs, double readyMinMs, double firstRequestMedianMs,
+            double firstRequestMinMs) {
+    }
+
+    private final Path workDir;
+    private final StubDependencies stubs;
+    private final int amqpPort;
+
+    private StartupBenchmark(Path workDir, StubDependencies stubs, int amqpPort) {
+        this.workDir = workDir;
+        this.stubs = stubs;
+        this.amqpPort = amqpPort;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int runs = 5;
+        for (String arg : args) {
+            if (!arg.startsWith("runs=")) {
+                throw new IllegalArgumentException("Unknown option '" + arg + "', expected runs=<n>");
+            }
+            runs = Integer.parseInt(arg.substring("runs=".length()));
+        }
+
+        List<Variant> variants = new ArrayList<>(List.of(
+                new Variant("default", List.of(), null, false),
+                new Variant("fast-start", List.of(), FAST_START_PROFILES, false),
+                new Variant("fast-start + AppCDS", List.of(), FAST_START_PROFILES, true)));
+        if (StartupBenchmark.class.getClassLoader().getResource(AOT_INITIALIZER) != null) {
+            variants.add(new Variant("fast-start + AOT + AppCDS", List.of("-Dspring.aot.enabled=true"),
+                    FAST_START_PROFILES, true));
+        } else {
+            System.out.println("No AOT code in notification-service (build it with -Pfast-start): AOT variant skipped");
+        }
+
+        // Nothing configures logging in this JVM (no Spring Boot here): keep the broker's start-up log quiet.
+        ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+        Files.createDirectories(LOG_DIR);
+        Path workDir = Files.createTempDirectory("startup-benchmark");
+        try (StubDependencies stubs = new StubDependencies(Duration.ZERO);
+                EmbeddedAmqpBroker broker = new EmbeddedAmqpBroker("guest", "guest")) {
+            StartupBenchmark benchmark = new StartupBenchmark(workDir, stubs, broker.port());
+            List<Result> results = new ArrayList<>();
+            for (Variant variant : variants) {
+                results.add(benchmark.measure(variant, runs));
+            }
+            print(results);
+            save(runs, results);
+        } finally {
+            try (var files = Files.walk(workDir)) {
+                files.sorted((a, b) -> b.compareTo(a)).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+
+    private Result measure(Variant variant, int runs) throws Exception {
+        List<String> jvmOptions = new ArrayList<>(variant.jvmOptions);
+        if (variant.appCds) {
+            Path archive = workDir.resolve(variant.name.replaceAll("\\W+", "-") + ".jsa");
+            train(variant, archive);
+            jvmOptions.add("-XX:SharedArchiveFile=" + archive);
+        }
+
+        double[] ready = new double[runs];
+        double[] firstRequest = new double[runs];
+        for (int i = 0; i < runs; i++) {
+            long start = System.nanoTime();
+            try (ApplicationProcess app = start(variant, jvmOptions, "run-" + i)) {
+                app.awaitHealthy(READY_TIMEOUT);
+                ready[i] = millisSince(start);
+
+                long requestStart = System.nanoTime();
+                int status = app.get("/notifications/getUnreadCount", 1).statusCode();
+                firstRequest[i] = millisSince(requestStart);
+                if (status != 200) {
+                    throw new IllegalStateException(variant.name + ": first request answered " + status + ", see "
+                            + app.log());
+                }
+            }
+            System.out.printf("%-28s run %d: ready %7.0f ms, first request %6.0f ms%n", variant.name, i + 1,
+                    ready[i], firstRequest[i]);
+        }
+        return new Result(variant.name, runs, median(ready), Arrays.stream(ready).min().orElse(0),
+                median(firstRequest), Arrays.stream(firstRequest).min().orElse(0));
+    }
+
+    // Stops after the context refresh (before the web server and listeners start) and dumps the loaded classes.
+    private void train(Variant variant, Path archive) throws Exception {
+        List<String> jvmOptions = new ArrayList<>(variant.jvmOptions);
+        jvmOptions.add("-XX:ArchiveClassesAtExit=" + archive);
+        jvmOptions.add("-Xlog:cds=error");
+        jvmOptions.add("-Dspring.context.exit=onRefresh");
+        try (ApplicationProcess training = start(variant, jvmOptions, "training")) {
+            if (!training.awaitExit(READY_TIMEOUT) || !Files.exists(archive)) {
+                throw new IllegalStateException(variant.name + ": no AppCDS archive, see " + training.log());
+            }
+        }
+    }
+
+    private ApplicationProcess start(Variant variant, List<String> jvmOptions, String logName) throws Exception {
+        List<String> command = ApplicationProcess.jvmCommand(jvmOptions);
+        if (variant.profiles != null) {
+            command.add("--spring.profiles.active=" + variant.profiles);
+        }
+        // a file database: the schema created by the default variant is reused by the others
+        return ApplicationProcess.start(command,
+                "jdbc:h2:file:" + workDir.resolve("db") + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;FILE_LOCK=NO", stubs,
+                amqpPort, LOG_DIR.resolve(variant.name.replaceAll("\\W+", "-") + "-" + logName + ".log"));
+    }
+
+    private static double millisSince(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000.0;
+    }
+
+    private static double median(double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int middle = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+    }
+
+    private static void print(List<Result> results) {
+        System.out.printf("%n%-28s %5s %14s %11s %18s %15s%n", "variant", "runs", "ready p50 ms", "ready min",
+                "first request p50", "first req. min");
+        for (Result r : results) {
+            System.out.printf("%-28s %5d %14.0f %11.0f %18.0f %15.0f%n", r.variant(), r.runs(), r.readyMedianMs(),
+                    r.readyMinMs(), r.firstRequestMedianMs(), r.firstRequestMinMs());
+        }
+    }
+
+    private static void save(int runs, List<Result> results) throws Exception {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("runs", runs);
+        report.put("java", System.getProperty("java.version"));
+        report.put("processors", Runtime.getRuntime().availableProcessors());
+        report.put("results", results);
+
+        Path file = Path.of("loadtest-results", "startup-"
+                + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json");
+        Files.createDirectories(file.getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+        System.out.println("\nResults: " + file);
+    }
+}
@@ -0,0 +1,125 @@
+package RadVeda.NotificationManagement.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * WHAT IT IS:
+ * One local HTTP server that stands in for every `external-services.*`
+ * dependency: user-management under /user-management, collaboration under
+ * /collaboration-service, consent under /consent-service.
+ *
+ * HOW IT ANSWERS (after sleeping `latency`, like a real network hop):
+ * - GET .../profile: {"id": <sub claim of the caller's JWT>}, so each load-test
+ * user is authenticated as itself.
+ * - everything else (validate*, validateMessage, validateConsentRequestById):
+ * "true", i.e. every recipient, chat and consent request exists.
+ * Tokens are not verified, the same as the service itself (it only reads the
+ * payload and leaves the signature to user-management).
+ */
+class StubDependencies implements AutoCloseable {
+
+    static {
+        // Without TCP_NODELAY every answer waits ~40 ms for a delayed ACK (Nagle), which
+        // would swamp the latency being measured. Read once, when the first server starts.
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "stub-dependencies");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final long latencyMillis;
+
+    StubDependencies(Duration latency) throws IOException {
+        this.latencyMillis = latency.toMillis();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 1024);
+        server.setExecutor(executor);
+        server.createContext("/", exchange -> {
+            try (exchange) {
+                pause();
+                if (exchange.getRequestURI().getPath().endsWith("/profile")) {
+                    String id = subject(exchange.getRequestHeaders().getFirst("Authorization"));
+                    respond(exchange, id == null ? 401 : 200, id == null ? "" : "{\"id\":" + id + "}");
+                } else {
+                    respond(exchange, 200, "true");
+                }
+            }
+        });
+        server.start();
+    }
+
+    String userManagementUrl() {
+        return baseUrl() + "/user-management";
+    }
+
+    String collaborationUrl() {
+        return baseUrl() + "/collaboration-service";
+    }
+
+    String consentUrl() {
+        return baseUrl() + "/consent-service";
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    private void pause() {
+        if (latencyMillis > 0) {
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    // "Bearer <header>.<payload>.<signature>" -> the payload's "sub", or null
+    private String subject(String authorization) {
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            return null;
+        }
+        String[] chunks = authorization.substring("Bearer ".length()).split("\\.");
+        if (chunks.length < 3) {
+            return null;
+        }
+        try {
+            JsonNode payload = objectMapper.readTree(Base64.getUrlDecoder().decode(chunks[1]));
+            return payload.hasNonNull("sub") ? String.valueOf(payload.get("sub").asLong()) : null;
+        } catch (IOException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        if (bytes.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+    }
+}
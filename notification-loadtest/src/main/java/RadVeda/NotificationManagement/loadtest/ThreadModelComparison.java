@@ -0,0 +1,124 @@
+package RadVeda.NotificationManagement.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * WHAT IT IS:
+ * The request thread models of notification-service side by side, measured on
+ * the real application: platform threads (the default profile, at most 200
+ * Tomcat request threads) vs virtual threads (the "virtual-threads" profile),
+ * at several numbers of concurrent REST clients:
+ *   mvn -B -pl notification-loadtest exec:exec \
+ *       -Dloadtest.main=RadVeda.NotificationManagement.loadtest.ThreadModelComparison \
+ *       -Dloadtest.args="clients=100,400,1000"
+ *
+ * WHY WE NEED IT:
+ * Past 200 clients the platform model queues requests for a thread while each
+ * one waits on user-management and JDBC; virtual threads should keep the
+ * throughput climbing until the connection pool or the CPU is the limit. Only
+ * the whole request path (security filter, remote authenticate, JPA) shows
+ * which limit comes first.
+ *
+ * HOW IT WORKS:
+ * 1. For each `clients` value, one LoadTest run per thread model, in this JVM,
+ * one after the other (each with its own warmup). Every run prints and saves
+ * its full result as usual.
+ * 2. The runs are REST-only (ws-clients=0, publish-rate=0) with a 20 ms
+ * stub-latency, so requests block on user-management as in production. Any
+ * other LoadTest option in the arguments overrides these.
+ * 3. Prints throughput, errors and latency of "rest.all" per run and saves them
+ * to loadtest-results/thread-models-<timestamp>.json.
+ * VIRTUAL needs a Java 21 JVM (and notification-service built with -Pjava21);
+ * on an older one only the platform runs are made.
+ */
+public class ThreadModelComparison {
+
+    private static final String VIRTUAL_PROFILE = "virtual-threads";
+    private static final List<String> DEFAULTS = List.of("ws-clients=0", "publish-rate=0", "stub-latency=PT0.02S");
+
+    record Result(String threads, int clients, long count, long errors, double throughput, double p50, double p90,
+            double p99, double max) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<Integer> clientCounts = List.of(100, 400, 1000);
+        List<String> loadTestArgs = new ArrayList<>(DEFAULTS);
+        for (String arg : args) {
+            if (arg.startsWith("clients=")) {
+                clientCounts = new ArrayList<>();
+                for (String count : arg.substring("clients=".length()).split(",")) {
+                    clientCounts.add(Integer.parseInt(count.trim()));
+                }
+            } else if (arg.startsWith("rest-clients=") || arg.startsWith("profiles=")) {
+                throw new IllegalArgumentException("'" + arg + "' is set per run here, use clients=<n>,<n>,...");
+            } else {
+                loadTestArgs.add(arg);
+            }
+        }
+
+        boolean virtualAvailable = Runtime.version().feature() >= 21;
+        if (!virtualAvailable) {
+            System.out.println("VIRTUAL skipped: needs Java 21, running on " + System.getProperty("java.version"));
+        }
+
+        List<Result> results = new ArrayList<>();
+        for (int clients : clientCounts) {
+            results.add(run("PLATFORM", clients, loadTestArgs, ""));
+            if (virtualAvailable) {
+                results.add(run("VIRTUAL", clients, loadTestArgs, VIRTUAL_PROFILE));
+            }
+        }
+        print(results);
+        save(loadTestArgs, results);
+    }
+
+    private static Result run(String threads, int clients, List<String> loadTestArgs, String profiles)
+            throws Exception {
+        List<String> args = new ArrayList<>(loadTestArgs);
+        args.add("rest-clients=" + clients);
+        if (!profiles.isEmpty()) {
+            args.add("profiles=" + profiles);
+        }
+        System.out.printf("%n=== %s threads, %d clients ===%n", threads, clients);
+        LatencyStats.Result all = LoadTest.measure(LoadTestOptions.parse(args.toArray(String[]::new))).stream()
+                .filter(r -> r.operation().equals(RestWorkload.ALL))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("No REST request finished: " + threads + ", "
+                        + clients + " clients"));
+        return new Result(threads, clients, all.count(), all.errors(), all.throughput(), all.p50(), all.p90(),
+                all.p99(), all.max());
+    }
+
+    private static void print(List<Result> results) {
+        System.out.printf("%n%-9s %8s %9s %7s %10s %9s %9s %9s %9s%n", "threads", "clients", "count", "errors",
+                "ops/s", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        for (Result r : results) {
+            System.out.printf("%-9s %8d %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f%n", r.threads(), r.clients(),
+                    r.count(), r.errors(), r.throughput(), r.p50(), r.p90(), r.p99(), r.max());
+        }
+    }
+
+    private static void save(List<String> loadTestArgs, List<Result> results) throws Exception {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("args", loadTestArgs);
+        report.put("java", System.getProperty("java.version"));
+        report.put("processors", Runtime.getRuntime().availableProcessors());
+        report.put("results", results);
+
+        Path file = Path.of("loadtest-results", "thread-models-"
+                + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json");
+        Files.createDirectories(file.getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+        System.out.println("\nResults: " + file);
+    }
+}
@@ -0,0 +1,102 @@
+package RadVeda.NotificationManagement.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.springframework.web.socket.sockjs.client.SockJsClient;
+import org.springframework.web.socket.sockjs.client.WebSocketTransport;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * WHAT IT IS:
+ * `ws-clients` browser-like subscribers: SockJS over WebSocket to /ws, one STOMP
+ * session per user 1..ws-clients, subscribed to /topic/user/{id}.
+ *
+ * WHAT IT MEASURES:
+ * "ws.delivery": publish -> STOMP frame, the whole consumer path (broker,
+ * listener, persist, push). PublishWorkload puts System.nanoTime() in the
+ * message body; both run in this JVM, so the clocks agree. Frames whose body is
+ * not a load-test timestamp are ignored; unreadable ones count as errors.
+ */
+class WebSocketWorkload implements AutoCloseable {
+
+    static final String BODY_PREFIX = "lt:";
+
+    private final WebSocketStompClient stompClient = new WebSocketStompClient(
+            new SockJsClient(List.of(new WebSocketTransport(new StandardWebSocketClient()))));
+    private final List<StompSession> sessions = new ArrayList<>();
+    private final LatencyStats stats;
+
+    WebSocketWorkload(ObjectMapper objectMapper, LatencyStats stats) {
+        this.stats = stats;
+        MappingJackson2MessageConverter converter = new MappingJackson2MessageConverter();
+        converter.setObjectMapper(objectMapper);
+        stompClient.setMessageConverter(converter);
+    }
+
+    /** Connects and subscribes users 1..clients; fails the run if any of them can't. */
+    void start(String baseUrl, int clients) throws InterruptedException, ExecutionException, TimeoutException {
+        for (long userId = 1; userId <= clients; userId++) {
+            WebSocketHttpHeaders handshake = new WebSocketHttpHeaders();
+            handshake.add("Authorization", LoadTestUsers.authorization(userId));
+            StompSession session = stompClient
+                    .connectAsync(baseUrl + "/ws", handshake, new StompSessionHandlerAdapter() {
+                        @Override
+                        public void handleException(StompSession session, StompCommand command,
+                                StompHeaders headers, byte[] payload, Throwable exception) {
+                            // e.g. a frame the converter can't read
+                            stats.error("ws.delivery");
+                        }
+                    })
+                    .get(10, TimeUnit.SECONDS);
+            session.subscribe("/topic/user/" + userId, new DeliveryHandler());
+            sessions.add(session);
+        }
+    }
+
+    @Override
+    public void close() {
+        sessions.forEach(session -> {
+            if (session.isConnected()) {
+                session.disconnect();
+            }
+        });
+        stompClient.stop();
+    }
+
+    private final class DeliveryHandler implements StompFrameHandler {
+
+        @Override
+        public Type getPayloadType(StompHeaders headers) {
+            return JsonNode.class;
+        }
+
+        @Override
+        public void handleFrame(StompHeaders headers, Object payload) {
+            long received = System.nanoTime();
+            String message = ((JsonNode) payload).path("message").asText("");
+            if (!message.startsWith(BODY_PREFIX)) {
+                return;
+            }
+            try {
+                stats.record("ws.delivery", received - Long.parseLong(message.substring(BODY_PREFIX.length())));
+            } catch (NumberFormatException e) {
+                stats.error("ws.delivery");
+            }
+        }
+    }
+}
@@ -2,10 +2,22 @@ package RadVeda.NotificationManagement;
 
 import RadVeda.NotificationManagement.Notifications.*;
 import RadVeda.NotificationManagement.config.CurrentUser;
+import RadVeda.NotificationManagement.export.NotificationExporter;
+import RadVeda.NotificationManagement.inbox.InboxVersionTracker;
+import RadVeda.NotificationManagement.inbox.InboxWaiters;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.Instant;
 import java.util.List;
 
 /**
@@ -32,28 +44,227 @@ import java.util.List;
 @RequestMapping("/notifications")
 public class NotificationController {
     private final NotificationService notificationService;
+    private final NotificationExporter notificationExporter;
+    private final InboxVersionTracker inboxVersions;
+    private final InboxWaiters inboxWaiters;
 
-    // --- GET Endpoints ---
+    private static final int MAX_WAIT_SECONDS = 60;
+
+    // --- GET Endpoints (ETag / If-None-Match: 304 without touching the DB) ---
 
     @GetMapping("/getAllChatNotifications")
     public List<ChatNotification> getAllChatNotifications(
-            @CurrentUser User currentUser) {
+            @CurrentUser User currentUser,
+            ServletWebRequest request) {
+        if (notModified(request, currentUser)) {
+            return null;
+        }
         return notificationService.findAllChatNotificationsByRecipient(currentUser.getType(), currentUser.getId());
     }
 
     @GetMapping("/getAllConsentRequestNotifications")
     public List<ConsentRequestNotification> getAllConsentRequestNotifications(
-            @CurrentUser User currentUser) {
+            @CurrentUser User currentUser,
+            ServletWebRequest request) {
+        if (notModified(request, currentUser)) {
+            return null;
+        }
         return notificationService.findAllConsentRequestNotificationsByRecipient(currentUser.getType(),
                 currentUser.getId());
     }
 
     @GetMapping("/getAllOneWayNotifications")
     public List<OneWayNotification> getAllOneWayNotifications(
-            @CurrentUser User currentUser) {
+            @CurrentUser User currentUser,
+            ServletWebRequest request) {
+        if (notModified(request, currentUser)) {
+            return null;
+        }
         return notificationService.findAllOneWayNotificationsByRecipient(currentUser.getType(), currentUser.getId());
     }
 
+    @GetMapping("/getAllBroadcastNotifications")
+    public List<BroadcastNotification> getAllBroadcastNotifications(
+            @CurrentUser User currentUser,
+            ServletWebRequest request) {
+        if (notModified(request, currentUser)) {
+            return null;
+        }
+        return notificationService.findAllBroadcastNotificationsByRecipient(currentUser.getType(),
+                currentUser.getId());
+    }
+
+    @GetMapping("/getInbox")
+    public List<InboxItem> getInbox(
+            @CurrentUser User currentUser,
+            ServletWebRequest request) {
+        if (notModified(request, currentUser)) {
+            return null;
+        }
+        return notificationService.findInboxOfRecipient(currentUser.getType(), currentUser.getId());
+    }
+
+    // --- GET Endpoints (Incremental polling, ?since=2024-01-01T10:00:00Z) ---
+
+    @GetMapping("/getChatNotificationsSince")
+    public List<ChatNotification> getChatNotificationsSince(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant since,
+            @CurrentUser User currentUser) {
+        return notificationService.findChatNotificationsByRecipientSince(currentUser.getType(), currentUser.getId(),
+                since);
+    }
+
+    @GetMapping("/getConsentRequestNotificationsSince")
+    public List<ConsentRequestNotification> getConsentRequestNotificationsSince(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant since,
+            @CurrentUser User currentUser) {
+        return notificationService.findConsentRequestNotificationsByRecipientSince(currentUser.getType(),
+                currentUser.getId(), since);
+    }
+
+    @GetMapping("/getOneWayNotificationsSince")
+    public List<OneWayNotification> getOneWayNotificationsSince(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant since,
+            @CurrentUser User currentUser) {
+        return notificationService.findOneWayNotificationsByRecipientSince(currentUser.getType(), currentUser.getId(),
+                since);
+    }
+
+    @GetMapping("/getInboxSince")
+    public List<InboxItem> getInboxSince(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant since,
+            @CurrentUser User currentUser) {
+        return notificationService.findInboxOfRecipientSince(currentUser.getType(), currentUser.getId(), since);
+    }
+
+    // --- GET Endpoints (Long polling, for clients without WebSockets) ---
+
+    /**
+     * Parks the request until a new notification for the current user arrives
+     * (the new item is returned) or `timeoutSeconds` pass (empty list). With
+     * `since`, anything that arrived after it is returned right away, so nothing
+     * is lost between two polls. No thread is held while parked (DeferredResult).
+     */
+    @GetMapping("/waitForNotifications")
+    public DeferredResult<List<InboxItem>> waitForNotifications(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant since,
+            @RequestParam(defaultValue = "30") int timeoutSeconds,
+            @CurrentUser User currentUser) {
+        int timeout = Math.min(Math.max(timeoutSeconds, 1), MAX_WAIT_SECONDS);
+        DeferredResult<List<InboxItem>> result = new DeferredResult<>(timeout * 1000L, List.of());
+
+        // Park FIRST, then look: an event between the two can't be missed.
+        inboxWaiters.park(currentUser.getType(), currentUser.getId(), result);
+        if (since != null) {
+            List<InboxItem> missed = notificationService.findInboxOfRecipientSince(currentUser.getType(),
+                    currentUser.getId(), since);
+            if (!missed.isEmpty()) {
+                result.setResult(missed);
+            }
+        }
+        return result;
+    }
+
+    // --- GET Endpoints (Cursor paging, ?before=<createdAt of last item>&limit=50) ---
+
+    @GetMapping("/getChatNotificationsPage")
+    public List<ChatNotification> getChatNotificationsPage(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant before,
+            @RequestParam(defaultValue = "50") int limit,
+            @CurrentUser User currentUser) {
+        return notificationService.findChatNotificationsPageByRecipient(currentUser.getType(), currentUser.getId(),
+                before, limit);
+    }
+
+    @GetMapping("/getConsentRequestNotificationsPage")
+    public List<ConsentRequestNotification> getConsentRequestNotificationsPage(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant before,
+            @RequestParam(defaultValue = "50") int limit,
+            @CurrentUser User currentUser) {
+        return notificationService.findConsentRequestNotificationsPageByRecipient(currentUser.getType(),
+                currentUser.getId(), before, limit);
+    }
+
+    @GetMapping("/getOneWayNotificationsPage")
+    public List<OneWayNotification> getOneWayNotificationsPage(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant before,
+            @RequestParam(defaultValue = "50") int limit,
+            @CurrentUser User currentUser) {
+        return notificationService.findOneWayNotificationsPageByRecipient(currentUser.getType(), currentUser.getId(),
+                before, limit);
+    }
+
+    @GetMapping("/getUnreadCount")
+    public UnreadCount getUnreadCount(
+            @CurrentUser User currentUser) {
+        return notificationService.countUnreadNotificationsOfRecipient(currentUser.getType(), currentUser.getId());
+    }
+
+    // --- GET Endpoints (Export, NDJSON stream; admins may pass another recipient) ---
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportNotifications(
+            @RequestParam(required = false) String recipientType,
+            @RequestParam(required = false) Long recipientId,
+            @CurrentUser User currentUser) {
+        StreamingResponseBody body = notificationExporter.export(
+                recipientType != null ? recipientType : currentUser.getType(),
+                recipientId != null ? recipientId : currentUser.getId(),
+                currentUser);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+
+    // --- PUT Endpoints (Read / Unread state) ---
+
+    @PutMapping("/markChatNotificationAsRead/{id}")
+    public String markChatNotificationAsRead(
+            @PathVariable Long id,
+            @CurrentUser User currentUser) {
+        return notificationService.markChatNotificationAsRead(id, currentUser);
+    }
+
+    @PutMapping("/markConsentRequestNotificationAsRead/{id}")
+    public String markConsentRequestNotificationAsRead(
+            @PathVariable Long id,
+            @CurrentUser User currentUser) {
+        return notificationService.markConsentRequestNotificationAsRead(id, currentUser);
+    }
+
+    @PutMapping("/markOneWayNotificationAsRead/{id}")
+    public String markOneWayNotificationAsRead(
+            @PathVariable Long id,
+            @CurrentUser User currentUser) {
+        return notificationService.markOneWayNotificationAsRead(id, currentUser);
+    }
+
+    @PutMapping("/markAllChatNotificationsAsRead")
+    public String markAllChatNotificationsAsRead(
+            @CurrentUser User currentUser) {
+        return notificationService.markAllChatNotificationsAsRead(currentUser.getType(), currentUser.getId());
+    }
+
+    @PutMapping("/markAllConsentRequestNotificationsAsRead")
+    public String markAllConsentRequestNotificationsAsRead(
+            @CurrentUser User currentUser) {
+        return notificationService.markAllConsentRequestNotificationsAsRead(currentUser.getType(),
+                currentUser.getId());
+    }
+
+    @PutMapping("/markAllOneWayNotificationsAsRead")
+    public String markAllOneWayNotificationsAsRead(
+            @CurrentUser User currentUser) {
+        return notificationService.markAllOneWayNotificationsAsRead(currentUser.getType(), currentUser.getId());
+    }
+
+    @PutMapping("/markBroadcastNotificationAsRead/{id}")
+    public String markBroadcastNotificationAsRead(
+            @PathVariable Long id,
+            @CurrentUser User currentUser) {
+        return notificationService.markBroadcastNotificationAsRead(id, currentUser);
+    }
+
     // --- POST Endpoints (Sending Notifications) ---
 
     // --- POST Endpoints (Removed: Now handled via RabbitMQ Events) ---
@@ -73,6 +284,22 @@ public class NotificationController {
         return notificationService.deleteAllChatNotificationsOfRecipient(currentUser.getType(), currentUser.getId());
     }
 
+    @DeleteMapping("/deleteBroadcastNotification/{id}")
+    public String deleteBroadcastNotification(
+            @PathVariable Long id,
+            @CurrentUser User currentUser) {
+        return notificationService.deleteBroadcastNotificationOfRecipient(id, currentUser);
+    }
+
     // (Note: You can add the remaining delete endpoints for Consent and OneWay
     // notifications similarly if needed)
+
+    // Sets the ETag header; true (and status 304) if the client's copy is current.
+    // "private, no-cache" instead of Spring Security's "no-store", so clients
+    // keep their copy and revalidate it, and shared caches stay out.
+    private boolean notModified(ServletWebRequest request, User currentUser) {
+        request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().cachePrivate()
+                .getHeaderValue());
+        return request.checkNotModified(inboxVersions.etag(currentUser.getType(), currentUser.getId()));
+    }
 }
@@ -1,7 +1,9 @@
 package RadVeda.NotificationManagement;
 
+import RadVeda.NotificationManagement.config.NativeRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 /**
  * WHAT IT IS:
@@ -29,8 +31,12 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * and services in the
  * 'RadVeda.NotificationManagement' package, letting it find the controllers and
  * services we write.
+ * 
+ * @ImportRuntimeHints: what a native image needs on top of what Spring AOT
+ * finds by itself (see NativeRuntimeHints).
  */
 @SpringBootApplication
+@ImportRuntimeHints(NativeRuntimeHints.class)
 public class NotificationManagementApplication {
 
     public static void main(String[] args) {
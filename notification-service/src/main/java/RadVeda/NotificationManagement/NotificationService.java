@@ -1,22 +1,53 @@
 package RadVeda.NotificationManagement;
 
 import RadVeda.NotificationManagement.Notifications.*;
+import RadVeda.NotificationManagement.exception.DependencyUnavailableException;
+import RadVeda.NotificationManagement.exception.InvalidChatException;
+import RadVeda.NotificationManagement.exception.InvalidConsentRequestException;
 import RadVeda.NotificationManagement.exception.NotificationNotFoundException;
+import RadVeda.NotificationManagement.exception.RecipientNotFoundException;
 import RadVeda.NotificationManagement.exception.UnauthorisedUserException;
+import RadVeda.NotificationManagement.exception.ValidationTimeoutException;
+import RadVeda.NotificationManagement.config.DedicatedExecutor;
+import RadVeda.NotificationManagement.config.JwtPayload;
 import RadVeda.NotificationManagement.consumer.NotificationMessage;
+import RadVeda.NotificationManagement.external.ExternalServiceClient;
+import RadVeda.NotificationManagement.external.ExternalServiceClient.Dependency;
+import RadVeda.NotificationManagement.external.RecipientValidationClient;
+import RadVeda.NotificationManagement.inbox.InboxVersionTracker;
+import RadVeda.NotificationManagement.inbox.InboxWaiters;
+import RadVeda.NotificationManagement.inbox.UnreadCountCache;
+import RadVeda.NotificationManagement.metrics.PipelineMetrics;
+import RadVeda.NotificationManagement.retention.NotificationArchiveCodec;
+import RadVeda.NotificationManagement.tracing.TraceHeaders;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.RestTemplate;
 import org.springframework.http.*;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 /**
  * WHAT IT IS:
@@ -28,8 +59,8 @@ import java.util.*;
  * 1. It talks to the Repositories to save/fetch data from the database.
  * 2. It implements the Validation Logic (checking if a user owns a notification
  * before showing it).
- * 3. It communicates with OTHER services (via RestTemplate) to verify tokens,
- * valid chat IDs, etc.
+ * 3. It communicates with OTHER services (via ExternalServiceClient) to verify
+ * tokens, valid chat IDs, etc.
  * 
  * WHY WE NEED IT ALL OF THAT:
  * 1. @Service: Tells Spring "This is a Service bean", so it can be injected
@@ -47,16 +78,39 @@ import java.util.*;
  * security checks.
  */
 @Service
+@Slf4j
 @RequiredArgsConstructor
 public class NotificationService implements NotificationServiceInterface {
     private final ChatNotificationRepository chatNotificationRepository;
     private final ConsentRequestNotificationRepository consentRequestNotificationRepository;
     private final OneWayNotificationRepository oneWayNotificationRepository;
+    private final BroadcastNotificationRepository broadcastNotificationRepository;
+    private final BroadcastReceiptRepository broadcastReceiptRepository;
+    private final ArchivedNotificationRepository archivedNotificationRepository;
+    private final NotificationBulkReader bulkReader;
+    private final NotificationArchiveCodec archiveCodec;
     private final SimpMessagingTemplate messagingTemplate;
+    private final UnreadCountCache unreadCountCache;
+    private final InboxVersionTracker inboxVersions;
+    private final InboxWaiters inboxWaiters;
+    private final PipelineMetrics pipelineMetrics;
+    private final TraceHeaders traceHeaders;
+    private final ExternalServiceClient externalServices;
+    private final RecipientValidationClient recipientValidator;
+
+    // Runs the remote validations of a send concurrently (see validateConcurrently).
+    @Qualifier("validationExecutor")
+    private final DedicatedExecutor validationExecutor;
+
+    @Value("${notifications.validation.deadline:PT3S}")
+    private Duration validationDeadline;
 
     @Value("${external-services.user-management.url}")
     private String userManagementUrl;
 
+    @Value("${external-services.fallback-cache.auth-ttl:PT30S}")
+    private Duration authFallbackTtl;
+
     @Value("${external-services.collaboration.url}")
     private String collaborationUrl;
 
@@ -65,10 +119,14 @@ public class NotificationService implements NotificationServiceInterface {
 
     private final ObjectMapper objectMapper = new ObjectMapper();
 
+    private static final int MAX_PAGE_SIZE = 200;
+
     // ------------------------------------------------------------------------------------------------
     // EVENT PROCESSING METHODS (RabbitMQ -> WebSocket)
     // ------------------------------------------------------------------------------------------------
 
+    @Observed(name = "notifications.process", contextualName = "process-chat-event",
+            lowCardinalityKeyValues = { "type", "CHAT" })
     public void processChatEvent(NotificationMessage message) {
         ChatNotification notification = new ChatNotification();
         notification.setRecipientId(message.getRecipientId());
@@ -92,30 +150,82 @@ public class NotificationService implements NotificationServiceInterface {
         notification.setRecipientType("PATIENT"); // Defaulting for simple demo
         notification.setChatType("PRIVATE"); // Default
         notification.setChatId(0L); // Default
-
-        ChatNotification saved = chatNotificationRepository.save(notification);
-        messagingTemplate.convertAndSend("/topic/user/" + saved.getRecipientId(), saved);
+        notification.setExpiresAt(message.getExpiresAt());
+
+        ChatNotification saved = pipelineMetrics.persist("CHAT",
+                () -> chatNotificationRepository.save(notification));
+        unreadCountCache.increment(UnreadCountCache.key("CHAT", saved.getRecipientType(), saved.getRecipientId()));
+        inboxVersions.bump(saved.getRecipientType(), saved.getRecipientId());
+        pipelineMetrics.push("CHAT",
+                () -> messagingTemplate.convertAndSend("/topic/user/" + saved.getRecipientId(), saved,
+                        traceHeaders.current()));
+        inboxWaiters.wake(saved.getRecipientType(), saved.getRecipientId(),
+                new InboxItem("CHAT", saved.getId(), saved.getMessage(), false, saved.getCreatedAt()));
     }
 
+    @Observed(name = "notifications.process", contextualName = "process-consent-event",
+            lowCardinalityKeyValues = { "type", "CONSENT" })
     public void processConsentEvent(NotificationMessage message) {
         ConsentRequestNotification notification = new ConsentRequestNotification();
         notification.setRecipientId(message.getRecipientId());
         notification.setMessage(message.getBody());
         notification.setRecipientType("DOCTOR"); // Default
         notification.setConsentRequestId(0L); // Default
-
-        ConsentRequestNotification saved = consentRequestNotificationRepository.save(notification);
-        messagingTemplate.convertAndSend("/topic/user/" + saved.getRecipientId(), saved);
+        notification.setExpiresAt(message.getExpiresAt());
+
+        ConsentRequestNotification saved = pipelineMetrics.persist("CONSENT",
+                () -> consentRequestNotificationRepository.save(notification));
+        unreadCountCache.increment(UnreadCountCache.key("CONSENT", saved.getRecipientType(), saved.getRecipientId()));
+        inboxVersions.bump(saved.getRecipientType(), saved.getRecipientId());
+        pipelineMetrics.push("CONSENT",
+                () -> messagingTemplate.convertAndSend("/topic/user/" + saved.getRecipientId(), saved,
+                        traceHeaders.current()));
+        inboxWaiters.wake(saved.getRecipientType(), saved.getRecipientId(),
+                new InboxItem("CONSENT", saved.getId(), saved.getMessage(), false, saved.getCreatedAt()));
     }
 
+    @Observed(name = "notifications.process", contextualName = "process-one-way-event",
+            lowCardinalityKeyValues = { "type", "ONE_WAY" })
     public void processOneWayEvent(NotificationMessage message) {
         OneWayNotification notification = new OneWayNotification();
         notification.setRecipientId(message.getRecipientId());
         notification.setMessage(message.getBody());
         notification.setRecipientType("PATIENT"); // Default
+        notification.setExpiresAt(message.getExpiresAt());
+
+        OneWayNotification saved = pipelineMetrics.persist("ONE_WAY",
+                () -> oneWayNotificationRepository.save(notification));
+        unreadCountCache.increment(UnreadCountCache.key("ONE_WAY", saved.getRecipientType(), saved.getRecipientId()));
+        inboxVersions.bump(saved.getRecipientType(), saved.getRecipientId());
+        pipelineMetrics.push("ONE_WAY",
+                () -> messagingTemplate.convertAndSend("/topic/user/" + saved.getRecipientId(), saved,
+                        traceHeaders.current()));
+        inboxWaiters.wake(saved.getRecipientType(), saved.getRecipientId(),
+                new InboxItem("ONE_WAY", saved.getId(), saved.getMessage(), false, saved.getCreatedAt()));
+    }
 
-        OneWayNotification saved = oneWayNotificationRepository.save(notification);
-        messagingTemplate.convertAndSend("/topic/user/" + saved.getRecipientId(), saved);
+    /**
+     * Broadcasts are stored ONCE for the whole role and pushed ONCE to the role
+     * topic. Clients of that role subscribe to /topic/role/{recipientType} next to
+     * their personal /topic/user/{id}.
+     */
+    @Observed(name = "notifications.process", contextualName = "process-broadcast-event",
+            lowCardinalityKeyValues = { "type", "BROADCAST" })
+    public void processBroadcastEvent(NotificationMessage message) {
+        BroadcastNotification notification = new BroadcastNotification();
+        notification.setMessage(message.getBody());
+        notification.setRecipientType(message.getRecipientType());
+        notification.setExpiresAt(message.getExpiresAt());
+
+        BroadcastNotification saved = pipelineMetrics.persist("BROADCAST",
+                () -> broadcastNotificationRepository.save(notification));
+        unreadCountCache.increment(UnreadCountCache.key("BROADCAST", saved.getRecipientType()));
+        inboxVersions.bumpRole(saved.getRecipientType());
+        pipelineMetrics.push("BROADCAST",
+                () -> messagingTemplate.convertAndSend("/topic/role/" + saved.getRecipientType(), saved,
+                        traceHeaders.current()));
+        inboxWaiters.wakeRole(saved.getRecipientType(),
+                new InboxItem("BROADCAST", saved.getId(), saved.getMessage(), false, saved.getCreatedAt()));
     }
 
     // ------------------------------------------------------------------------------------------------
@@ -148,22 +258,168 @@ public class NotificationService implements NotificationServiceInterface {
 
         T notification = repository.findById(id)
                 .orElseThrow(() -> new NotificationNotFoundException("Couldn't find a notification with the given ID"));
+        checkOwner(notification.getRecipientType(), notification.getRecipientId(), currentUser);
+        return notification;
+    }
 
-        if (!Objects.equals(currentUser.getId(), notification.getRecipientId())
-                || !Objects.equals(currentUser.getType(), notification.getRecipientType())) {
+    private static void checkOwner(String recipientType, Long recipientId, User currentUser) {
+        if (!Objects.equals(currentUser.getId(), recipientId)
+                || !Objects.equals(currentUser.getType(), recipientType)) {
             throw new UnauthorisedUserException("Permission denied!");
         }
+    }
 
-        return notification;
+    /**
+     * HELPER: receiptOf
+     * 
+     * WHAT IT DOES:
+     * 1. Fetches the broadcast and checks that it is addressed to the
+     * `currentUser`'s role.
+     * 2. Returns the user's existing receipt, or a NEW (unsaved) one if the user
+     * never touched this broadcast before.
+     * 
+     * WHY WE NEED IT:
+     * Per-user broadcast state is created lazily, so every read/delete starts with
+     * this "find or create".
+     */
+    private BroadcastReceipt receiptOf(Long broadcastId, User currentUser) {
+        BroadcastNotification broadcast = broadcastNotificationRepository.findById(broadcastId)
+                .orElseThrow(() -> new NotificationNotFoundException("Couldn't find a notification with the given ID"));
+
+        if (!Objects.equals(currentUser.getType(), broadcast.getRecipientType())) {
+            throw new UnauthorisedUserException("Permission denied!");
+        }
+
+        return broadcastReceiptRepository
+                .findByBroadcastIdAndRecipientTypeAndRecipientId(broadcastId, currentUser.getType(),
+                        currentUser.getId())
+                .orElseGet(() -> {
+                    BroadcastReceipt receipt = new BroadcastReceipt();
+                    receipt.setBroadcastId(broadcastId);
+                    receipt.setRecipientType(currentUser.getType());
+                    receipt.setRecipientId(currentUser.getId());
+                    return receipt;
+                });
+    }
+
+    /**
+     * GENERIC HELPER: pageWithArchive
+     * 
+     * WHAT IT DOES:
+     * 1. Reads the next `limit` rows older than `before` from the HOT table.
+     * 2. Only if that page comes back short (the cursor went past the oldest hot
+     * row) does it continue in the archive, from where the hot rows stopped.
+     * 
+     * WHY WE NEED IT:
+     * Normal inbox paging never touches the archive at all; scrolling far back in
+     * history does so transparently, with the same entity types in the result.
+     */
+    private <T extends Notification> List<T> pageWithArchive(
+            String sourceType,
+            Class<T> type,
+            NotificationBaseRepository<T> repository,
+            String recipientType,
+            Long recipientId,
+            Instant before,
+            int limit) {
+
+        Instant cursor = before == null ? Instant.now() : before;
+        int size = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+
+        List<T> page = new ArrayList<>(repository.findByRecipientTypeAndRecipientIdAndCreatedAtBeforeOrderByCreatedAtDesc(
+                recipientType, recipientId, cursor, PageRequest.of(0, size)));
+
+        if (page.size() < size) {
+            Instant archiveCursor = page.isEmpty() ? cursor : page.get(page.size() - 1).getCreatedAt();
+            for (ArchivedNotification archived : archivedNotificationRepository
+                    .findBySourceTypeAndRecipientTypeAndRecipientIdAndCreatedAtBeforeOrderByCreatedAtDesc(
+                            sourceType, recipientType, recipientId, archiveCursor,
+                            PageRequest.of(0, size - page.size()))) {
+                page.add(archiveCodec.unpack(archived.getPayload(), type));
+            }
+        }
+        return page;
+    }
+
+    /**
+     * GENERIC HELPER: validateConcurrently
+     * 
+     * WHAT IT DOES:
+     * 1. Starts every check at once on the validationExecutor. A check
+     * returns null if it passed, or the exception to throw if it failed.
+     * 2. Waits until ALL passed, or the FIRST one failed (fail fast: we don't wait
+     * for the slower ones), or the shared `notifications.validation.deadline`
+     * ran out (ValidationTimeoutException).
+     * 
+     * WHY WE NEED IT:
+     * Each check is a remote round trip. Run one after another, a send costs the
+     * SUM of them; run together it costs the slowest one.
+     */
+    @SafeVarargs
+    private void validateConcurrently(Supplier<RuntimeException>... checks) {
+        CompletableFuture<?>[] calls = new CompletableFuture<?>[checks.length];
+        for (int i = 0; i < checks.length; i++) {
+            Supplier<RuntimeException> check = checks[i];
+            // A failed check fails its own future (a thrown exception, e.g. a 500, does too).
+            calls[i] = CompletableFuture.runAsync(() -> {
+                RuntimeException failure = check.get();
+                if (failure != null) {
+                    throw failure;
+                }
+            }, validationExecutor::execute);
+        }
+
+        try {
+            allOrFirstFailure(calls).get(validationDeadline.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() instanceof CompletionException ? e.getCause().getCause() : e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new RuntimeException("Error validating request", cause);
+        } catch (TimeoutException e) {
+            throw new ValidationTimeoutException("Validation did not finish in time, please retry!");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ValidationTimeoutException("Validation was interrupted!");
+        } finally {
+            // The remaining calls can't be interrupted, but nobody waits for them.
+            for (CompletableFuture<?> call : calls) {
+                call.cancel(false);
+            }
+        }
+    }
+
+    // Completes when every call did, or exceptionally with the FIRST call that failed, whichever comes first.
+    // (allOf alone would wait for the slowest call even after one failed.)
+    private static CompletableFuture<Void> allOrFirstFailure(CompletableFuture<?>... calls) {
+        CompletableFuture<Void> outcome = new CompletableFuture<>();
+        AtomicInteger pending = new AtomicInteger(calls.length);
+        if (calls.length == 0) {
+            outcome.complete(null);
+        }
+        for (CompletableFuture<?> call : calls) {
+            call.whenComplete((ignored, failure) -> {
+                if (failure != null) {
+                    outcome.completeExceptionally(failure);
+                } else if (pending.decrementAndGet() == 0) {
+                    outcome.complete(null);
+                }
+            });
+        }
+        return outcome;
     }
 
     /**
      * GENERIC HELPER: deleteSecurely
      * 
      * WHAT IT DOES:
-     * 1. Calls `fetchAndValidate` to ensure the notification exists and the user
-     * owns it.
+     * 1. Ensures the notification exists and the user owns it (as
+     * `fetchAndValidate` does).
      * 2. Deletes the notification.
+     * 3. If it was still unread, lowers the user's unread counter of `category`.
+     * 4. Not in the hot table? Then it may have been archived (the archive pages
+     * of the inbox show it under its original id): delete that copy instead.
      * 
      * OVERALL AFFECT:
      * Centralizes the "Secure Delete" pattern.
@@ -171,33 +427,235 @@ public class NotificationService implements NotificationServiceInterface {
     private <T extends Notification> String deleteSecurely(
             Long id,
             User currentUser,
-            NotificationBaseRepository<T> repository) {
+            NotificationBaseRepository<T> repository,
+            String category) {
+
+        T notification = repository.findById(id).orElse(null);
+        if (notification == null) {
+            archivedNotificationRepository.delete(fetchArchivedAndValidate(id, currentUser, category));
+            // Archived rows are not part of the unread counters, nothing to lower.
+            inboxVersions.bump(currentUser.getType(), currentUser.getId());
+            return "Notification deleted successfully!!";
+        }
 
-        T notification = fetchAndValidate(id, currentUser, repository);
+        checkOwner(notification.getRecipientType(), notification.getRecipientId(), currentUser);
         repository.delete(notification);
+        inboxVersions.bump(currentUser.getType(), currentUser.getId());
+        if (!notification.isRead()) {
+            unreadCountCache.decrement(UnreadCountCache.key(category, currentUser.getType(), currentUser.getId()));
+        }
         return "Notification deleted successfully!!";
     }
 
+    /**
+     * GENERIC HELPER: markReadSecurely
+     * 
+     * WHAT IT DOES:
+     * Same ownership check as `deleteSecurely`, then flags the notification as
+     * read and lowers the unread counter. Marking an already-read notification
+     * is a no-op (no UPDATE is issued). An archived notification gets the flag
+     * inside its payload (unpack, set, pack).
+     */
+    private <T extends Notification> String markReadSecurely(
+            Long id,
+            User currentUser,
+            NotificationBaseRepository<T> repository,
+            String category,
+            Class<T> type) {
+
+        T notification = repository.findById(id).orElse(null);
+        if (notification == null) {
+            ArchivedNotification archived = fetchArchivedAndValidate(id, currentUser, category);
+            T copy = archiveCodec.unpack(archived.getPayload(), type);
+            if (!copy.isRead()) {
+                copy.setRead(true);
+                archived.setPayload(archiveCodec.pack(copy));
+                archivedNotificationRepository.save(archived);
+                inboxVersions.bump(currentUser.getType(), currentUser.getId());
+            }
+            return "Notification marked as read!!";
+        }
+
+        checkOwner(notification.getRecipientType(), notification.getRecipientId(), currentUser);
+        if (!notification.isRead()) {
+            notification.setRead(true);
+            repository.save(notification);
+            unreadCountCache.decrement(UnreadCountCache.key(category, currentUser.getType(), currentUser.getId()));
+            inboxVersions.bump(currentUser.getType(), currentUser.getId());
+        }
+        return "Notification marked as read!!";
+    }
+
+    /**
+     * HELPER: fetchArchivedAndValidate
+     * 
+     * `fetchAndValidate` for the archive: finds the archived copy of hot row `id`
+     * of `sourceType` and checks that the user owns it.
+     */
+    private ArchivedNotification fetchArchivedAndValidate(Long id, User currentUser, String sourceType) {
+        ArchivedNotification archived = archivedNotificationRepository.findBySourceTypeAndSourceId(sourceType, id)
+                .orElseThrow(() -> new NotificationNotFoundException("Couldn't find a notification with the given ID"));
+        checkOwner(archived.getRecipientType(), archived.getRecipientId(), currentUser);
+        return archived;
+    }
+
     // ------------------------------------------------------------------------------------------------
     // RETRIEVAL METHODS
     // ------------------------------------------------------------------------------------------------
 
+    // The "all" lists can be large: they bypass the JPA converters and are
+    // decrypted in bulk (see NotificationBulkReader).
+
     @Override
     public List<ChatNotification> findAllChatNotificationsByRecipient(String recipientType, Long recipientId) {
         // Simply fetches all chat notifications for a specific user type (e.g.
         // "DOCTOR") and ID.
-        return chatNotificationRepository.findByRecipientTypeAndRecipientId(recipientType, recipientId);
+        return bulkReader.findChatNotifications(recipientType, recipientId);
     }
 
     @Override
     public List<ConsentRequestNotification> findAllConsentRequestNotificationsByRecipient(String recipientType,
             Long recipientId) {
-        return consentRequestNotificationRepository.findByRecipientTypeAndRecipientId(recipientType, recipientId);
+        return bulkReader.findConsentRequestNotifications(recipientType, recipientId);
     }
 
     @Override
     public List<OneWayNotification> findAllOneWayNotificationsByRecipient(String recipientType, Long recipientId) {
-        return oneWayNotificationRepository.findByRecipientTypeAndRecipientId(recipientType, recipientId);
+        return bulkReader.findOneWayNotifications(recipientType, recipientId);
+    }
+
+    /**
+     * Returns the broadcasts addressed to the user's role, minus the ones this
+     * user deleted.
+     * WHY IT IS CHEAP:
+     * We load the role's broadcasts (one indexed equality lookup) and the user's
+     * own receipts (only the ones they touched), then filter in memory.
+     */
+    @Override
+    public List<BroadcastNotification> findAllBroadcastNotificationsByRecipient(String recipientType,
+            Long recipientId) {
+        Map<Long, BroadcastReceipt> receipts = receiptsOf(recipientType, recipientId);
+
+        List<BroadcastNotification> visible = new ArrayList<>();
+        for (BroadcastNotification broadcast : broadcastNotificationRepository.findByRecipientType(recipientType)) {
+            BroadcastReceipt receipt = receipts.get(broadcast.getId());
+            if (receipt == null || !receipt.isDeleted()) {
+                visible.add(broadcast);
+            }
+        }
+        return visible;
+    }
+
+    private Map<Long, BroadcastReceipt> receiptsOf(String recipientType, Long recipientId) {
+        Map<Long, BroadcastReceipt> receipts = new HashMap<>();
+        for (BroadcastReceipt receipt : broadcastReceiptRepository.findByRecipientTypeAndRecipientId(recipientType,
+                recipientId)) {
+            receipts.put(receipt.getBroadcastId(), receipt);
+        }
+        return receipts;
+    }
+
+    /**
+     * The merged inbox: personal notifications of every type plus the broadcasts
+     * for the user's role, flattened into InboxItems, newest first.
+     */
+    @Override
+    public List<InboxItem> findInboxOfRecipient(String recipientType, Long recipientId) {
+        return mergeInbox(
+                findAllChatNotificationsByRecipient(recipientType, recipientId),
+                findAllConsentRequestNotificationsByRecipient(recipientType, recipientId),
+                findAllOneWayNotificationsByRecipient(recipientType, recipientId),
+                broadcastNotificationRepository.findByRecipientType(recipientType),
+                receiptsOf(recipientType, recipientId));
+    }
+
+    @Override
+    public List<InboxItem> findInboxOfRecipientSince(String recipientType, Long recipientId, Instant since) {
+        return mergeInbox(
+                findChatNotificationsByRecipientSince(recipientType, recipientId, since),
+                findConsentRequestNotificationsByRecipientSince(recipientType, recipientId, since),
+                findOneWayNotificationsByRecipientSince(recipientType, recipientId, since),
+                broadcastNotificationRepository.findByRecipientTypeAndCreatedAtAfterOrderByCreatedAtAsc(recipientType,
+                        since),
+                receiptsOf(recipientType, recipientId));
+    }
+
+    private List<InboxItem> mergeInbox(
+            List<ChatNotification> chats,
+            List<ConsentRequestNotification> consents,
+            List<OneWayNotification> oneWays,
+            List<BroadcastNotification> broadcasts,
+            Map<Long, BroadcastReceipt> receipts) {
+
+        List<InboxItem> inbox = new ArrayList<>();
+        for (ChatNotification n : chats) {
+            inbox.add(new InboxItem("CHAT", n.getId(), n.getMessage(), n.isRead(), n.getCreatedAt()));
+        }
+        for (ConsentRequestNotification n : consents) {
+            inbox.add(new InboxItem("CONSENT", n.getId(), n.getMessage(), n.isRead(), n.getCreatedAt()));
+        }
+        for (OneWayNotification n : oneWays) {
+            inbox.add(new InboxItem("ONE_WAY", n.getId(), n.getMessage(), n.isRead(), n.getCreatedAt()));
+        }
+        for (BroadcastNotification n : broadcasts) {
+            BroadcastReceipt receipt = receipts.get(n.getId());
+            if (receipt == null || !receipt.isDeleted()) {
+                inbox.add(new InboxItem("BROADCAST", n.getId(), n.getMessage(), receipt != null && receipt.isRead(),
+                        n.getCreatedAt()));
+            }
+        }
+        // Rows stored before timestamps existed have no createdAt: they go last.
+        inbox.sort(Comparator.comparing(InboxItem::createdAt, Comparator.nullsFirst(Comparator.<Instant>naturalOrder()))
+                .reversed());
+        return inbox;
+    }
+
+    // Cursor pages: 'before' = createdAt of the last item the client has (null
+    // for the first page). Falls through to the archive past the hot range.
+
+    @Override
+    public List<ChatNotification> findChatNotificationsPageByRecipient(String recipientType, Long recipientId,
+            Instant before, int limit) {
+        return pageWithArchive("CHAT", ChatNotification.class, chatNotificationRepository, recipientType,
+                recipientId, before, limit);
+    }
+
+    @Override
+    public List<ConsentRequestNotification> findConsentRequestNotificationsPageByRecipient(String recipientType,
+            Long recipientId, Instant before, int limit) {
+        return pageWithArchive("CONSENT", ConsentRequestNotification.class, consentRequestNotificationRepository,
+                recipientType, recipientId, before, limit);
+    }
+
+    @Override
+    public List<OneWayNotification> findOneWayNotificationsPageByRecipient(String recipientType, Long recipientId,
+            Instant before, int limit) {
+        return pageWithArchive("ONE_WAY", OneWayNotification.class, oneWayNotificationRepository, recipientType,
+                recipientId, before, limit);
+    }
+
+    // "Since" variants: what arrived after the client's last poll, oldest first.
+
+    @Override
+    public List<ChatNotification> findChatNotificationsByRecipientSince(String recipientType, Long recipientId,
+            Instant since) {
+        return chatNotificationRepository.findByRecipientTypeAndRecipientIdAndCreatedAtAfterOrderByCreatedAtAsc(
+                recipientType, recipientId, since);
+    }
+
+    @Override
+    public List<ConsentRequestNotification> findConsentRequestNotificationsByRecipientSince(String recipientType,
+            Long recipientId, Instant since) {
+        return consentRequestNotificationRepository
+                .findByRecipientTypeAndRecipientIdAndCreatedAtAfterOrderByCreatedAtAsc(recipientType, recipientId,
+                        since);
+    }
+
+    @Override
+    public List<OneWayNotification> findOneWayNotificationsByRecipientSince(String recipientType, Long recipientId,
+            Instant since) {
+        return oneWayNotificationRepository.findByRecipientTypeAndRecipientIdAndCreatedAtAfterOrderByCreatedAtAsc(
+                recipientType, recipientId, since);
     }
 
     /**
@@ -227,6 +685,40 @@ public class NotificationService implements NotificationServiceInterface {
     // SENDING METHODS
     // ------------------------------------------------------------------------------------------------
 
+    /**
+     * Validated sends: every remote check the notification needs runs AT THE SAME
+     * TIME, so a send costs max(calls) instead of sum(calls).
+     */
+    @Override
+    public void sendChatNotification(ChatNotificationRequest request, User currentUser) {
+        validateConcurrently(
+                () -> isRecipientValid(request.recipientType(), request.recipientId(), currentUser) ? null
+                        : new RecipientNotFoundException("Recipient not found!"),
+                () -> isChatValid(request.chatType(), request.chatId(), currentUser) ? null
+                        : new InvalidChatException("Invalid chat!"));
+        sendChatNotificationToRecipient(request.message(), request.recipientType(), request.recipientId(),
+                request.chatType(), request.chatId());
+    }
+
+    @Override
+    public void sendConsentRequestNotification(ConsentRequestNotificationRequest request, User currentUser) {
+        validateConcurrently(
+                () -> isRecipientValid(request.recipientType(), request.recipientId(), currentUser) ? null
+                        : new RecipientNotFoundException("Recipient not found!"),
+                () -> isConsentRequestValid(request.consentRequestId(), currentUser) ? null
+                        : new InvalidConsentRequestException("Invalid consent request!"));
+        sendConsentRequestNotificationToRecipient(request.message(), request.recipientType(),
+                request.recipientId(), request.consentRequestId());
+    }
+
+    @Override
+    public void sendOneWayNotification(OneWayNotificationRequest request, User currentUser) {
+        validateConcurrently(
+                () -> isRecipientValid(request.recipientType(), request.recipientId(), currentUser) ? null
+                        : new RecipientNotFoundException("Recipient not found!"));
+        sendOneWayNotificationToRecipient(request.message(), request.recipientType(), request.recipientId());
+    }
+
     @Override
     public void sendChatNotificationToRecipient(String message, String recipientType, Long recipientId,
             String chatType, Long chatId) {
@@ -239,7 +731,9 @@ public class NotificationService implements NotificationServiceInterface {
         chatNotif.setChatId(chatId);
         chatNotif.setChatType(chatType);
 
-        chatNotificationRepository.save(chatNotif);
+        pipelineMetrics.persist("CHAT", () -> chatNotificationRepository.save(chatNotif));
+        unreadCountCache.increment(UnreadCountCache.key("CHAT", recipientType, recipientId));
+        inboxVersions.bump(recipientType, recipientId);
 
     }
 
@@ -253,7 +747,9 @@ public class NotificationService implements NotificationServiceInterface {
         consReqNotif.setRecipientId(recipientId);
         consReqNotif.setConsentRequestId(consentRequestId);
 
-        consentRequestNotificationRepository.save(consReqNotif);
+        pipelineMetrics.persist("CONSENT", () -> consentRequestNotificationRepository.save(consReqNotif));
+        unreadCountCache.increment(UnreadCountCache.key("CONSENT", recipientType, recipientId));
+        inboxVersions.bump(recipientType, recipientId);
 
     }
 
@@ -265,8 +761,111 @@ public class NotificationService implements NotificationServiceInterface {
         oneWayNotif.setRecipientType(recipientType);
         oneWayNotif.setRecipientId(recipientId);
 
-        oneWayNotificationRepository.save(oneWayNotif);
+        pipelineMetrics.persist("ONE_WAY", () -> oneWayNotificationRepository.save(oneWayNotif));
+        unreadCountCache.increment(UnreadCountCache.key("ONE_WAY", recipientType, recipientId));
+        inboxVersions.bump(recipientType, recipientId);
+
+    }
+
+    @Override
+    public void sendBroadcastNotification(String message, String recipientType) {
+        BroadcastNotification broadcast = new BroadcastNotification();
+
+        broadcast.setMessage(message);
+        broadcast.setRecipientType(recipientType);
+
+        // ONE row for the whole role, no matter how many users it has.
+        pipelineMetrics.persist("BROADCAST", () -> broadcastNotificationRepository.save(broadcast));
+        unreadCountCache.increment(UnreadCountCache.key("BROADCAST", recipientType));
+        inboxVersions.bumpRole(recipientType);
+
+    }
 
+    @Override
+    public String markBroadcastNotificationAsRead(Long id, User currentUser) {
+        BroadcastReceipt receipt = receiptOf(id, currentUser);
+        boolean seenBefore = receipt.isRead() || receipt.isDeleted();
+        receipt.setRead(true);
+        broadcastReceiptRepository.save(receipt);
+        inboxVersions.bump(currentUser.getType(), currentUser.getId());
+        if (!seenBefore) {
+            unreadCountCache.increment(
+                    UnreadCountCache.key("BROADCAST_SEEN", currentUser.getType(), currentUser.getId()));
+        }
+        return "Notification marked as read!!";
+    }
+
+    // ------------------------------------------------------------------------------------------------
+    // READ / UNREAD METHODS
+    // ------------------------------------------------------------------------------------------------
+
+    @Override
+    public String markChatNotificationAsRead(Long id, User currentUser) {
+        return markReadSecurely(id, currentUser, chatNotificationRepository, "CHAT", ChatNotification.class);
+    }
+
+    @Override
+    public String markConsentRequestNotificationAsRead(Long id, User currentUser) {
+        return markReadSecurely(id, currentUser, consentRequestNotificationRepository, "CONSENT",
+                ConsentRequestNotification.class);
+    }
+
+    @Override
+    public String markOneWayNotificationAsRead(Long id, User currentUser) {
+        return markReadSecurely(id, currentUser, oneWayNotificationRepository, "ONE_WAY", OneWayNotification.class);
+    }
+
+    @Override
+    public String markAllChatNotificationsAsRead(String recipientType, Long recipientId) {
+        chatNotificationRepository.markAllAsReadByRecipientTypeAndRecipientId(recipientType, recipientId);
+        unreadCountCache.reset(UnreadCountCache.key("CHAT", recipientType, recipientId));
+        inboxVersions.bump(recipientType, recipientId);
+        return "Notifications marked as read!!";
+    }
+
+    @Override
+    public String markAllConsentRequestNotificationsAsRead(String recipientType, Long recipientId) {
+        consentRequestNotificationRepository.markAllAsReadByRecipientTypeAndRecipientId(recipientType, recipientId);
+        unreadCountCache.reset(UnreadCountCache.key("CONSENT", recipientType, recipientId));
+        inboxVersions.bump(recipientType, recipientId);
+        return "Notifications marked as read!!";
+    }
+
+    @Override
+    public String markAllOneWayNotificationsAsRead(String recipientType, Long recipientId) {
+        oneWayNotificationRepository.markAllAsReadByRecipientTypeAndRecipientId(recipientType, recipientId);
+        unreadCountCache.reset(UnreadCountCache.key("ONE_WAY", recipientType, recipientId));
+        inboxVersions.bump(recipientType, recipientId);
+        return "Notifications marked as read!!";
+    }
+
+    /**
+     * Unread badge counts, served from UnreadCountCache.
+     * 
+     * WHY IT IS O(1):
+     * After the first call for a user every number is a map lookup. The DB is only
+     * asked on a cache miss, and even then it is an indexed COUNT on the
+     * (deterministically encrypted) recipient columns, nothing gets decrypted.
+     * Broadcast unread = broadcasts of the role - broadcasts this user has seen.
+     */
+    @Override
+    public UnreadCount countUnreadNotificationsOfRecipient(String recipientType, Long recipientId) {
+        long chat = unreadCountCache.get(UnreadCountCache.key("CHAT", recipientType, recipientId),
+                () -> chatNotificationRepository.countByRecipientTypeAndRecipientIdAndReadFalse(recipientType,
+                        recipientId));
+        long consent = unreadCountCache.get(UnreadCountCache.key("CONSENT", recipientType, recipientId),
+                () -> consentRequestNotificationRepository.countByRecipientTypeAndRecipientIdAndReadFalse(
+                        recipientType, recipientId));
+        long oneWay = unreadCountCache.get(UnreadCountCache.key("ONE_WAY", recipientType, recipientId),
+                () -> oneWayNotificationRepository.countByRecipientTypeAndRecipientIdAndReadFalse(recipientType,
+                        recipientId));
+        long broadcastTotal = unreadCountCache.get(UnreadCountCache.key("BROADCAST", recipientType),
+                () -> broadcastNotificationRepository.countByRecipientType(recipientType));
+        long broadcastSeen = unreadCountCache.get(UnreadCountCache.key("BROADCAST_SEEN", recipientType, recipientId),
+                () -> broadcastReceiptRepository.countSeenByRecipientTypeAndRecipientId(recipientType, recipientId));
+        long broadcast = Math.max(0, broadcastTotal - broadcastSeen);
+
+        return new UnreadCount(chat, consent, oneWay, broadcast, chat + consent + oneWay + broadcast);
     }
 
     // ------------------------------------------------------------------------------------------------
@@ -275,17 +874,35 @@ public class NotificationService implements NotificationServiceInterface {
 
     @Override
     public String deleteChatNotificationOfRecipient(Long id, User currentUser) {
-        return deleteSecurely(id, currentUser, chatNotificationRepository);
+        return deleteSecurely(id, currentUser, chatNotificationRepository, "CHAT");
     }
 
     @Override
     public String deleteConsentRequestNotificationOfRecipient(Long id, User currentUser) {
-        return deleteSecurely(id, currentUser, consentRequestNotificationRepository);
+        return deleteSecurely(id, currentUser, consentRequestNotificationRepository, "CONSENT");
     }
 
     @Override
     public String deleteOneWayNotificationOfRecipient(Long id, User currentUser) {
-        return deleteSecurely(id, currentUser, oneWayNotificationRepository);
+        return deleteSecurely(id, currentUser, oneWayNotificationRepository, "ONE_WAY");
+    }
+
+    /**
+     * Deleting a broadcast only hides it for THIS user (the row is shared by the
+     * whole role), so we flag the user's receipt instead of deleting the row.
+     */
+    @Override
+    public String deleteBroadcastNotificationOfRecipient(Long id, User currentUser) {
+        BroadcastReceipt receipt = receiptOf(id, currentUser);
+        boolean seenBefore = receipt.isRead() || receipt.isDeleted();
+        receipt.setDeleted(true);
+        broadcastReceiptRepository.save(receipt);
+        inboxVersions.bump(currentUser.getType(), currentUser.getId());
+        if (!seenBefore) {
+            unreadCountCache.increment(
+                    UnreadCountCache.key("BROADCAST_SEEN", currentUser.getType(), currentUser.getId()));
+        }
+        return "Notification deleted successfully!!";
     }
 
     // ------------------------------------------------------------------------------------------------
@@ -295,20 +912,29 @@ public class NotificationService implements NotificationServiceInterface {
     @Override
     public String deleteAllChatNotificationsOfRecipient(String recipientType, Long recipientId) {
         // Uses the custom transactional query in the repository to wipe all
-        // notifications for this user.
+        // notifications for this user, then their archived ones (see ArchiveJob).
         chatNotificationRepository.deleteByRecipientTypeAndRecipientId(recipientType, recipientId);
+        archivedNotificationRepository.deleteBySourceTypeAndRecipient("CHAT", recipientType, recipientId);
+        unreadCountCache.reset(UnreadCountCache.key("CHAT", recipientType, recipientId));
+        inboxVersions.bump(recipientType, recipientId);
         return "Notifications deleted successfully!!";
     }
 
     @Override
     public String deleteAllConsentRequestNotificationsOfRecipient(String recipientType, Long recipientId) {
         consentRequestNotificationRepository.deleteByRecipientTypeAndRecipientId(recipientType, recipientId);
+        archivedNotificationRepository.deleteBySourceTypeAndRecipient("CONSENT", recipientType, recipientId);
+        unreadCountCache.reset(UnreadCountCache.key("CONSENT", recipientType, recipientId));
+        inboxVersions.bump(recipientType, recipientId);
         return "Notifications deleted successfully!!";
     }
 
     @Override
     public String deleteAllOneWayNotificationsOfRecipient(String recipientType, Long recipientId) {
         oneWayNotificationRepository.deleteByRecipientTypeAndRecipientId(recipientType, recipientId);
+        archivedNotificationRepository.deleteBySourceTypeAndRecipient("ONE_WAY", recipientType, recipientId);
+        unreadCountCache.reset(UnreadCountCache.key("ONE_WAY", recipientType, recipientId));
+        inboxVersions.bump(recipientType, recipientId);
         return "Notifications deleted successfully!!";
     }
 
@@ -337,26 +963,12 @@ public class NotificationService implements NotificationServiceInterface {
         }
 
         try {
-            // Logic:
-            // 1. Split the token into its 3 parts (Header, Body, Signature)
-            // 2. Decode the Body (Part 2) using standard Base64.getUrlDecoder()
-            // 3. Parse the JSON using ObjectMapper
-
-            String[] chunks = jwtToken.split("\\.");
-            if (chunks.length < 3) {
+            // 1-2. Read the role out of the token's payload (see JwtPayload)
+            String role = JwtPayload.role(jwtToken);
+            if (role == null) {
                 return null;
             }
 
-            String payload = new String(Base64.getUrlDecoder().decode(chunks[1]));
-
-            JsonNode payloadNode = objectMapper.readTree(payload);
-
-            if (!payloadNode.has("role")) {
-                return null;
-            }
-
-            String role = payloadNode.get("role").asText();
-
             // 3. Determine the Validation URL based on the Role
             String validationUrl = "";
             switch (role) {
@@ -382,16 +994,11 @@ public class NotificationService implements NotificationServiceInterface {
                     return null;
             }
 
-            // 4. Call the User Service (Directly!)
-            RestTemplate restTemplate = new RestTemplate();
-            HttpHeaders headers = new HttpHeaders();
-            headers.set("Authorization", "Bearer " + jwtToken);
-
-            ResponseEntity<String> responseEntity = restTemplate.exchange(
-                    validationUrl,
-                    HttpMethod.GET,
-                    new HttpEntity<>(headers),
-                    String.class);
+            // 4. Call the User Service (through its breaker; a token's profile seen in
+            // the last auth-ttl is served from cache while user-management is unavailable)
+            ResponseEntity<String> responseEntity = externalServices.getWithFallback(
+                    Dependency.USER_MANAGEMENT, validationUrl, jwtToken, validationUrl + " " + jwtToken,
+                    authFallbackTtl);
 
             // 5. If successful, create and return the User
             if (responseEntity.getStatusCode() == HttpStatus.OK) {
@@ -407,9 +1014,20 @@ public class NotificationService implements NotificationServiceInterface {
                 return user;
             }
 
+        } catch (CallNotPermittedException | BulkheadFullException e) {
+            // user-management is unavailable, not the token invalid: answer 503, not 401
+            throw e;
+        } catch (HttpClientErrorException e) {
+            // a 4xx is an answer: the token is not (or no longer) valid
+            log.debug("Authentication failed", e);
+            return null;
+        } catch (RestClientException e) {
+            // timeout, connection error, 5xx: the token could not be checked, same as above
+            throw new DependencyUnavailableException("Error authenticating with user-management", e);
         } catch (Exception e) {
-            // Token parsing failed, or Role missing, or Service call failed (403/401)
-            e.printStackTrace(); // Optional logging
+            // Token parsing failed, or Role missing, or unreadable profile
+            // DEBUG only: a synchronous stack trace per bad token would let anyone burn our CPU
+            log.debug("Authentication failed", e);
             return null;
         }
 
@@ -421,35 +1039,18 @@ public class NotificationService implements NotificationServiceInterface {
      */
     @Override
     public boolean isRecipientValid(String recipientType, Long recipientId, User currentUser) {
-        String jwtToken = currentUser.getToken();
-
-        RestTemplate restTemplate = new RestTemplate();
-        HttpHeaders headers = new HttpHeaders();
-        headers.set("Authorization", "Bearer " + jwtToken);
-
-        HashMap<String, String> urlMap = new HashMap<>();
-        urlMap.put("ADMIN", userManagementUrl + "/admins/validateAdminId/" + recipientId);
-        urlMap.put("DOCTOR", userManagementUrl + "/doctors/validateDoctorId/" + recipientId);
-        urlMap.put("LABSTAFF", userManagementUrl + "/labstaffs/validateLabStaffId/" + recipientId);
-        urlMap.put("PATIENT", userManagementUrl + "/patients/validatePatientId/" + recipientId);
-        urlMap.put("RADIOLOGIST", userManagementUrl + "/radiologists/validateRadiologistId/" + recipientId);
-        urlMap.put("SUPERADMIN", userManagementUrl + "/superadmins/validateSuperAdminId/" + recipientId);
-
-        String url = urlMap.get(recipientType);
-        if (url == null)
-            return false;
-
-        ResponseEntity<String> responseEntity;
-        try {
-            responseEntity = restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), String.class);
-        } catch (HttpClientErrorException.Forbidden ex) {
-            return false;
-        }
+        // Coalesced with the other checks of the same moment (see RecipientValidationClient).
+        return RecipientValidationClient.join(
+                recipientValidator.validate(recipientType, recipientId, currentUser.getToken()));
+    }
 
-        if (responseEntity.getStatusCode() == HttpStatus.OK) {
-            return Boolean.parseBoolean(responseEntity.getBody());
-        }
-        return false;
+    /**
+     * Checks many Recipients of one type at once.
+     */
+    @Override
+    public Map<Long, Boolean> areRecipientsValid(String recipientType, Collection<Long> recipientIds,
+            User currentUser) {
+        return recipientValidator.validateAll(recipientType, recipientIds, currentUser.getToken());
     }
 
     /**
@@ -459,19 +1060,21 @@ public class NotificationService implements NotificationServiceInterface {
     public boolean isChatValid(String chatType, Long chatId, User currentUser) {
         String jwtToken = currentUser.getToken();
 
-        RestTemplate restTemplate = new RestTemplate();
-        HttpHeaders headers = new HttpHeaders();
-        headers.set("Authorization", "Bearer " + jwtToken);
-
         // Call to the Collaboration Service (running on port 9195)
         // Call to the Collaboration Service
         String url = collaborationUrl + "/collaboration/validateMessage/" + chatType + "/" + chatId;
 
         ResponseEntity<String> responseEntity;
         try {
-            responseEntity = restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), String.class);
-        } catch (RuntimeException e) {
-            return false;
+            responseEntity = externalServices.getWithFallback(Dependency.COLLABORATION, url, jwtToken,
+                    url + " " + jwtToken);
+        } catch (CallNotPermittedException | BulkheadFullException e) {
+            // collaboration is unavailable, not the chat invalid: answer 503, not 400
+            throw e;
+        } catch (HttpClientErrorException e) {
+            return false; // a 4xx is an answer: no such chat, or not the caller's
+        } catch (RestClientException e) {
+            throw new DependencyUnavailableException("Error validating chat with collaboration", e);
         }
 
         if (responseEntity.getStatusCode() == HttpStatus.OK) {
@@ -487,19 +1090,21 @@ public class NotificationService implements NotificationServiceInterface {
     public boolean isConsentRequestValid(Long consentRequestId, User currentUser) {
         String jwtToken = currentUser.getToken();
 
-        RestTemplate restTemplate = new RestTemplate();
-        HttpHeaders headers = new HttpHeaders();
-        headers.set("Authorization", "Bearer " + jwtToken);
-
         // Call to the Consent Service (running on port 9202)
         // Call to the Consent Service
         String url = consentUrl + "/consent/validateConsentRequestById/" + consentRequestId;
 
         ResponseEntity<String> responseEntity;
         try {
-            responseEntity = restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), String.class);
-        } catch (RuntimeException e) {
-            return false;
+            // No cached fallback: consent can be withdrawn at any time, so fail closed.
+            responseEntity = externalServices.get(Dependency.CONSENT, url, jwtToken);
+        } catch (CallNotPermittedException | BulkheadFullException e) {
+            // consent is unavailable, not the request invalid: answer 503, not 400
+            throw e;
+        } catch (HttpClientErrorException e) {
+            return false; // a 4xx is an answer: no such consent request, or not the caller's
+        } catch (RestClientException e) {
+            throw new DependencyUnavailableException("Error validating consent request with consent", e);
         }
 
         if (responseEntity.getStatusCode() == HttpStatus.OK) {
@@ -1,7 +1,10 @@
 package RadVeda.NotificationManagement;
 
 import RadVeda.NotificationManagement.Notifications.*;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * WHAT IT IS:
@@ -40,6 +43,33 @@ public interface NotificationServiceInterface {
 
         List<OneWayNotification> findAllOneWayNotificationsByRecipient(String recipientType, Long recipientId);
 
+        List<BroadcastNotification> findAllBroadcastNotificationsByRecipient(String recipientType, Long recipientId);
+
+        // Personal notifications and role broadcasts merged into one list
+        List<InboxItem> findInboxOfRecipient(String recipientType, Long recipientId);
+
+        // Incremental polling: only notifications created after 'since'
+        List<ChatNotification> findChatNotificationsByRecipientSince(String recipientType, Long recipientId,
+                        Instant since);
+
+        List<ConsentRequestNotification> findConsentRequestNotificationsByRecipientSince(String recipientType,
+                        Long recipientId, Instant since);
+
+        List<OneWayNotification> findOneWayNotificationsByRecipientSince(String recipientType, Long recipientId,
+                        Instant since);
+
+        List<InboxItem> findInboxOfRecipientSince(String recipientType, Long recipientId, Instant since);
+
+        // Cursor paging (newest first), transparently continues into the archive
+        List<ChatNotification> findChatNotificationsPageByRecipient(String recipientType, Long recipientId,
+                        Instant before, int limit);
+
+        List<ConsentRequestNotification> findConsentRequestNotificationsPageByRecipient(String recipientType,
+                        Long recipientId, Instant before, int limit);
+
+        List<OneWayNotification> findOneWayNotificationsPageByRecipient(String recipientType, Long recipientId,
+                        Instant before, int limit);
+
         // Methods to find a single notification (with security check)
         ChatNotification findChatNotificationById(Long Id, User currentUser);
 
@@ -56,6 +86,19 @@ public interface NotificationServiceInterface {
 
         void sendOneWayNotificationToRecipient(String message, String recipientType, Long recipientId);
 
+        // Same, after validating recipient / chat / consent request (concurrently)
+        void sendChatNotification(ChatNotificationRequest request, User currentUser);
+
+        void sendConsentRequestNotification(ConsentRequestNotificationRequest request, User currentUser);
+
+        void sendOneWayNotification(OneWayNotificationRequest request, User currentUser);
+
+        // One stored row for every user of the given recipient type
+        void sendBroadcastNotification(String message, String recipientType);
+
+        // Per-user state of a broadcast (created lazily)
+        String markBroadcastNotificationAsRead(Long Id, User currentUser);
+
         // Methods to delete specific notifications
         String deleteChatNotificationOfRecipient(Long Id, User currentUser);
 
@@ -63,6 +106,8 @@ public interface NotificationServiceInterface {
 
         String deleteOneWayNotificationOfRecipient(Long Id, User currentUser);
 
+        String deleteBroadcastNotificationOfRecipient(Long Id, User currentUser);
+
         // Methods to delete all notifications for a user
         String deleteAllChatNotificationsOfRecipient(String recipientType, Long recipientId);
 
@@ -70,11 +115,29 @@ public interface NotificationServiceInterface {
 
         String deleteAllOneWayNotificationsOfRecipient(String recipientType, Long recipientId);
 
+        // Methods to track read / unread state
+        String markChatNotificationAsRead(Long Id, User currentUser);
+
+        String markConsentRequestNotificationAsRead(Long Id, User currentUser);
+
+        String markOneWayNotificationAsRead(Long Id, User currentUser);
+
+        String markAllChatNotificationsAsRead(String recipientType, Long recipientId);
+
+        String markAllConsentRequestNotificationsAsRead(String recipientType, Long recipientId);
+
+        String markAllOneWayNotificationsAsRead(String recipientType, Long recipientId);
+
+        UnreadCount countUnreadNotificationsOfRecipient(String recipientType, Long recipientId);
+
         // Helper methods for validation
         User authenticate(String authorizationHeader);
 
         boolean isRecipientValid(String recipientType, Long recipientId, User currentUser);
 
+        // Many ids at once (bulk sends): id -> exists, coalesced into batched calls
+        Map<Long, Boolean> areRecipientsValid(String recipientType, Collection<Long> recipientIds, User currentUser);
+
         boolean isChatValid(String chatType, Long chatId, User currentUser);
 
         boolean isConsentRequestValid(Long consentRequestId, User currentUser);
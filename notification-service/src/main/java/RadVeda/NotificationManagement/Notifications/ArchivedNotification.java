@@ -0,0 +1,68 @@
+package RadVeda.NotificationManagement.Notifications;
+
+import RadVeda.NotificationManagement.StorageEncryption.Converters.EncryptedStringConverter;
+import RadVeda.NotificationManagement.StorageEncryption.Converters.SearchableEncryptedLongConverter;
+import RadVeda.NotificationManagement.StorageEncryption.Converters.SearchableEncryptedStringConverter;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * WHAT IT IS:
+ * The "cold" copy of a notification that was moved out of its hot table
+ * (chat_notification, consent_request_notification, one_way_notification).
+ * 
+ * WHY WE NEED IT:
+ * Consent requests must be kept for audit, but they should not sit in the hot
+ * table that every inbox read scans. Old rows of every type move here.
+ * 
+ * WHY WE NEED IT ALL OF THAT:
+ * 1. sourceType / sourceId: Which hot table and which row this came from. The
+ * pair is unique, so a row is archived at most once: when two replicas archive
+ * it at the same moment, the second insert fails and ArchiveJob skips that
+ * chunk.
+ * 2. recipientType / recipientId / createdAt: Kept as real (encrypted) columns
+ * so a recipient's archive can still be range-scanned by index.
+ * 3. payload: The whole original notification as JSON, GZIP-compressed, Base64
+ * encoded and THEN encrypted. One column instead of one per field, and
+ * compression happens before encryption (ciphertext doesn't compress).
+ */
+@Getter
+@Setter
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = { "sourceType", "sourceId" }), indexes = {
+        @Index(columnList = "sourceType, recipientType, recipientId, createdAt"),
+        @Index(columnList = "sourceType, createdAt")
+})
+public class ArchivedNotification {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String sourceType;
+
+    private Long sourceId;
+
+    @Convert(converter = SearchableEncryptedStringConverter.class)
+    private String recipientType;
+
+    @Convert(converter = SearchableEncryptedLongConverter.class)
+    private Long recipientId;
+
+    private Instant createdAt;
+
+    private Instant archivedAt;
+
+    // Without a length a @Lob string is a MySQL TINYTEXT (255 bytes), too short
+    // for any payload; this length makes it a MEDIUMTEXT.
+    @Lob
+    @Convert(converter = EncryptedStringConverter.class)
+    @Column(length = 16_777_215)
+    private String payload;
+}
@@ -0,0 +1,52 @@
+package RadVeda.NotificationManagement.Notifications;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * WHAT IT IS:
+ * Repository for ArchivedNotification entities.
+ * 
+ * WHY WE NEED IT:
+ * To interact with the 'archived_notification' table. It is only touched when
+ * a reader pages past the hot range, and by the archive / retention jobs.
+ */
+public interface ArchivedNotificationRepository extends JpaRepository<ArchivedNotification, Long> {
+
+    // Cursor read: the next page of one recipient's archive, newest first.
+    List<ArchivedNotification> findBySourceTypeAndRecipientTypeAndRecipientIdAndCreatedAtBeforeOrderByCreatedAtDesc(
+            String sourceType, String recipientType, Long recipientId, Instant before, Pageable page);
+
+    // Single delete / mark-read of a notification that was archived: it is still known by its original id.
+    Optional<ArchivedNotification> findBySourceTypeAndSourceId(String sourceType, Long sourceId);
+
+    // "Delete all" of a recipient covers their archive too. One DELETE, nothing gets decrypted.
+    @Transactional
+    @Modifying
+    @Query("delete from ArchivedNotification a where a.sourceType = :sourceType "
+            + "and a.recipientType = :recipientType and a.recipientId = :recipientId")
+    int deleteBySourceTypeAndRecipient(@Param("sourceType") String sourceType,
+            @Param("recipientType") String recipientType, @Param("recipientId") Long recipientId);
+
+    // Archive job: which of these rows another replica has archived already.
+    @Query("select a.sourceId from ArchivedNotification a where a.sourceType = :sourceType "
+            + "and a.sourceId in :sourceIds")
+    Set<Long> findArchivedSourceIds(@Param("sourceType") String sourceType,
+            @Param("sourceIds") Collection<Long> sourceIds);
+
+    // Retention: the archive has a max age too.
+    @Query("select a.id from ArchivedNotification a where a.sourceType = :sourceType and a.createdAt < :cutoff "
+            + "order by a.createdAt")
+    List<Long> findIdsCreatedBefore(@Param("sourceType") String sourceType, @Param("cutoff") Instant cutoff,
+            Pageable chunk);
+}
@@ -0,0 +1,66 @@
+package RadVeda.NotificationManagement.Notifications;
+
+import RadVeda.NotificationManagement.StorageEncryption.Converters.EncryptedStringConverter;
+import RadVeda.NotificationManagement.StorageEncryption.Converters.SearchableEncryptedStringConverter;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * WHAT IT IS:
+ * A single notification addressed to EVERY user of a recipient type (e.g. "all
+ * RADIOLOGIST").
+ * 
+ * WHY WE NEED IT:
+ * Sending the same alert to a whole role through the single-send path means
+ * writing one row per user. A broadcast is stored exactly once, so a fan-out
+ * to 100k users costs one insert instead of 100k.
+ * 
+ * WHY WE NEED IT ALL OF THAT:
+ * 1. It does NOT extend Notification: there is no recipientId, the row belongs
+ * to the whole role.
+ * 2. Per-user state (read / deleted) lives in BroadcastReceipt and is only
+ * created when a user actually touches the broadcast.
+ * 3. @Convert: Same encryption as every other notification. recipientType is
+ * encrypted deterministically, so equality lookups by role still work.
+ */
+@Getter
+@Setter
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(indexes = {
+        @Index(columnList = "recipientType, createdAt"),
+        @Index(columnList = "createdAt"),
+        @Index(columnList = "expiresAt")
+})
+public class BroadcastNotification {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // The core message content. Encrypted in DB.
+    @Convert(converter = EncryptedStringConverter.class)
+    @Column(length = Notification.MESSAGE_COLUMN_LENGTH)
+    private String message;
+
+    // The role this broadcast is addressed to (e.g. "RADIOLOGIST"). Encrypted in DB.
+    @Convert(converter = SearchableEncryptedStringConverter.class)
+    private String recipientType;
+
+    // Same timestamps as Notification, so broadcasts sort into the inbox.
+    private Instant createdAt;
+
+    private Instant expiresAt;
+
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = Instant.now();
+        }
+    }
+}
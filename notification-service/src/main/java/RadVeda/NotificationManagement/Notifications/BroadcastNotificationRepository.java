@@ -0,0 +1,40 @@
+package RadVeda.NotificationManagement.Notifications;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * WHAT IT IS:
+ * Repository for BroadcastNotification entities.
+ * 
+ * WHY WE NEED IT:
+ * To interact with the 'broadcast_notification' table.
+ * 
+ * OVERALL AFFECT TO CODE AND LOGIC:
+ * Broadcasts are looked up by role only, so they don't fit the recipient-based
+ * `NotificationBaseRepository` template.
+ */
+public interface BroadcastNotificationRepository extends JpaRepository<BroadcastNotification, Long> {
+
+    List<BroadcastNotification> findByRecipientType(String recipientType);
+
+    List<BroadcastNotification> findByRecipientTypeAndCreatedAtAfterOrderByCreatedAtAsc(String recipientType,
+            Instant since);
+
+    long countByRecipientType(String recipientType);
+
+    // Retention: same chunked lookups as NotificationBaseRepository.
+    @Query("select b.id from BroadcastNotification b where b.createdAt < :cutoff order by b.createdAt")
+    List<Long> findIdsCreatedBefore(@Param("cutoff") Instant cutoff, Pageable chunk);
+
+    @Query("select b.id from BroadcastNotification b where b.expiresAt < :now order by b.expiresAt")
+    List<Long> findIdsExpiredBefore(@Param("now") Instant now, Pageable chunk);
+
+    @Query("select min(b.createdAt) from BroadcastNotification b")
+    Instant findOldestCreatedAt();
+}
@@ -0,0 +1,50 @@
+package RadVeda.NotificationManagement.Notifications;
+
+import RadVeda.NotificationManagement.StorageEncryption.Converters.SearchableEncryptedLongConverter;
+import RadVeda.NotificationManagement.StorageEncryption.Converters.SearchableEncryptedStringConverter;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * WHAT IT IS:
+ * The per-recipient state of a BroadcastNotification (has this user read it,
+ * has this user deleted it?).
+ * 
+ * WHY WE NEED IT:
+ * A broadcast row is shared by the whole role, so it can't hold "read" or
+ * "deleted" for one user. Instead we keep a tiny receipt per (broadcast, user).
+ * 
+ * WHY WE NEED IT ALL OF THAT:
+ * 1. Lazy creation: A receipt is only written when the user marks the broadcast
+ * read or deletes it. A user who never touches a broadcast costs zero rows.
+ * 2. broadcastId is NOT encrypted: it is just a pointer to our own table and is
+ * needed for the unique constraint.
+ * 3. @Convert: recipient identity is encrypted just like in Notification.
+ */
+@Getter
+@Setter
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = { "broadcastId", "recipientType", "recipientId" }))
+public class BroadcastReceipt {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long broadcastId;
+
+    @Convert(converter = SearchableEncryptedStringConverter.class)
+    private String recipientType;
+
+    @Convert(converter = SearchableEncryptedLongConverter.class)
+    private Long recipientId;
+
+    @Column(name = "is_read", nullable = false)
+    private boolean read;
+
+    private boolean deleted;
+}
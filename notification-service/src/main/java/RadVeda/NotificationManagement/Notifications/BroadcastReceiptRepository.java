@@ -0,0 +1,39 @@
+package RadVeda.NotificationManagement.Notifications;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * WHAT IT IS:
+ * Repository for BroadcastReceipt entities.
+ * 
+ * WHY WE NEED IT:
+ * To interact with the 'broadcast_receipt' table. A user only has receipts for
+ * the broadcasts they actually touched, so loading all of them is cheap.
+ */
+public interface BroadcastReceiptRepository extends JpaRepository<BroadcastReceipt, Long> {
+
+    List<BroadcastReceipt> findByRecipientTypeAndRecipientId(String recipientType, Long recipientId);
+
+    Optional<BroadcastReceipt> findByBroadcastIdAndRecipientTypeAndRecipientId(Long broadcastId,
+            String recipientType, Long recipientId);
+
+    // Broadcasts this user has already "seen" (read OR deleted).
+    @Query("select count(r) from BroadcastReceipt r "
+            + "where r.recipientType = :recipientType and r.recipientId = :recipientId and (r.read = true or r.deleted = true)")
+    long countSeenByRecipientTypeAndRecipientId(@Param("recipientType") String recipientType,
+            @Param("recipientId") Long recipientId);
+
+    // Retention: receipts die with their broadcast.
+    @Transactional
+    @Modifying
+    @Query("delete from BroadcastReceipt r where r.broadcastId in :broadcastIds")
+    int deleteByBroadcastIdIn(@Param("broadcastIds") Collection<Long> broadcastIds);
+}
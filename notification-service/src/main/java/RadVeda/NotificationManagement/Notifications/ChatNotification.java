@@ -35,6 +35,11 @@ import lombok.Setter;
 @Entity
 @NoArgsConstructor
 @AllArgsConstructor
+@Table(indexes = {
+        @Index(columnList = "recipientType, recipientId, createdAt"),
+        @Index(columnList = "createdAt"),
+        @Index(columnList = "expiresAt")
+})
 public class ChatNotification extends Notification {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
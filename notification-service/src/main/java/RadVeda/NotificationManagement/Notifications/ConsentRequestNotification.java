@@ -30,6 +30,11 @@ import lombok.Setter;
 @Entity
 @NoArgsConstructor
 @AllArgsConstructor
+@Table(indexes = {
+        @Index(columnList = "recipientType, recipientId, createdAt"),
+        @Index(columnList = "createdAt"),
+        @Index(columnList = "expiresAt")
+})
 public class ConsentRequestNotification extends Notification {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,25 @@
+package RadVeda.NotificationManagement.Notifications;
+
+import java.time.Instant;
+
+/**
+ * WHAT IT IS:
+ * A flattened, read-only view of one entry in a user's inbox.
+ * 
+ * WHY WE NEED IT:
+ * The inbox merges personal notifications (chat, consent, one-way) with the
+ * broadcasts addressed to the user's role. These come from different tables,
+ * so we need one common shape to return them in a single list.
+ * 
+ * WHY WE NEED IT ALL OF THAT:
+ * 'type' uses the same names as NotificationMessage ("CHAT", "CONSENT",
+ * "ONE_WAY", "BROADCAST") so the client knows which delete endpoint an 'id'
+ * belongs to.
+ */
+public record InboxItem(
+        String type,
+        Long id,
+        String message,
+        boolean read,
+        Instant createdAt) {
+}
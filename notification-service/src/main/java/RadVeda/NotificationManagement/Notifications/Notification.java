@@ -1,13 +1,19 @@
 package RadVeda.NotificationManagement.Notifications;
 
-import RadVeda.NotificationManagement.StorageEncryption.Converters.EncryptedLongConverter;
 import RadVeda.NotificationManagement.StorageEncryption.Converters.EncryptedStringConverter;
+import RadVeda.NotificationManagement.StorageEncryption.Converters.SearchableEncryptedLongConverter;
+import RadVeda.NotificationManagement.StorageEncryption.Converters.SearchableEncryptedStringConverter;
+import jakarta.persistence.Column;
 import jakarta.persistence.Convert;
 import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.PrePersist;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.Instant;
 
 /**
  * WHAT IT IS:
@@ -35,6 +41,11 @@ import lombok.Setter;
  * fields before writing to the DB and decrypt them when reading. We don't have
  * to write any
  * encryption logic in our service layer; it happens automatically here.
+ * 4. read: Stored as "is_read" because READ is a reserved word in MySQL.
+ * 5. createdAt / expiresAt: NOT encrypted, so the DB can order and range-scan
+ * them. Each concrete entity indexes (recipientType, recipientId, createdAt):
+ * the deterministic ciphertext of the recipient acts as the blind lookup key,
+ * and createdAt lets "everything since X" be answered by the index alone.
  */
 @Getter
 @Setter
@@ -43,15 +54,44 @@ import lombok.Setter;
 @AllArgsConstructor
 public abstract class Notification {
 
+    // Stored ciphertext is longer than the text: ~1.4 KB of UTF-8 still fits in
+    // any format, GCM included ("2$<keyId>$" + Base64 of IV || ciphertext || tag).
+    public static final int MESSAGE_COLUMN_LENGTH = 2048;
+
     // The core message content of the notification. Encrypted in DB.
     @Convert(converter = EncryptedStringConverter.class)
+    @Column(length = MESSAGE_COLUMN_LENGTH)
     private String message;
 
-    // Type of recipient (e.g. "USER", "ADMIN"). Encrypted in DB.
-    @Convert(converter = EncryptedStringConverter.class)
+    // Type of recipient (e.g. "USER", "ADMIN"). Encrypted in DB, deterministically
+    // (we search on it), see SearchableEncryptedStringConverter.
+    @Convert(converter = SearchableEncryptedStringConverter.class)
     private String recipientType;
 
     // The ID of the recipient. Encrypted in DB to protect identity.
-    @Convert(converter = EncryptedLongConverter.class)
+    @Convert(converter = SearchableEncryptedLongConverter.class)
     private Long recipientId;
+
+    // Has the recipient seen it? NOT encrypted: it carries no personal data and
+    // must be cheap to filter and update in bulk.
+    // The DB default fills rows that existed before the column was added.
+    @ColumnDefault("false")
+    @Column(name = "is_read", nullable = false)
+    private boolean read;
+
+    // When the notification was stored. Set automatically on insert.
+    private Instant createdAt;
+
+    // Optional: after this instant the notification may be purged.
+    private Instant expiresAt;
+
+    // Every concrete entity declares its own @Id; this lets generic code read it.
+    public abstract Long getId();
+
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = Instant.now();
+        }
+    }
 }
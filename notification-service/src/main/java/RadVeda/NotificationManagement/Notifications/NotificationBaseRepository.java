@@ -1,10 +1,14 @@
 package RadVeda.NotificationManagement.Notifications;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.NoRepositoryBean;
 import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.List;
 
 /**
@@ -31,8 +35,40 @@ public interface NotificationBaseRepository<T extends Notification> extends JpaR
     // One method to rule them all.
     List<T> findByRecipientTypeAndRecipientId(String recipientType, Long recipientId);
 
+    // Incremental polling: only what arrived after `since`, oldest first.
+    List<T> findByRecipientTypeAndRecipientIdAndCreatedAtAfterOrderByCreatedAtAsc(String recipientType,
+            Long recipientId, Instant since);
+
+    // Cursor paging: the next `page` rows older than `before`, newest first.
+    List<T> findByRecipientTypeAndRecipientIdAndCreatedAtBeforeOrderByCreatedAtDesc(String recipientType,
+            Long recipientId, Instant before, Pageable page);
+
     // One transactional delete to keep the DB clean.
     @Transactional
     void deleteByRecipientTypeAndRecipientId(@Param("recipientType") String recipientType,
             @Param("recipientId") Long recipientId);
+
+    // Only used to (re)load the unread counter cache, never on every request.
+    long countByRecipientTypeAndRecipientIdAndReadFalse(String recipientType, Long recipientId);
+
+    // One UPDATE statement instead of loading + saving every row.
+    @Transactional
+    @Modifying
+    @Query("update #{#entityName} n set n.read = true "
+            + "where n.recipientType = :recipientType and n.recipientId = :recipientId and n.read = false")
+    int markAllAsReadByRecipientTypeAndRecipientId(@Param("recipientType") String recipientType,
+            @Param("recipientId") Long recipientId);
+
+    // Retention: ids of the oldest rows created before `cutoff`, one chunk at a
+    // time (walks the createdAt index, never the whole table).
+    @Query("select n.id from #{#entityName} n where n.createdAt < :cutoff order by n.createdAt")
+    List<Long> findIdsCreatedBefore(@Param("cutoff") Instant cutoff, Pageable chunk);
+
+    // Retention: ids of rows whose own expiresAt has passed.
+    @Query("select n.id from #{#entityName} n where n.expiresAt < :now order by n.expiresAt")
+    List<Long> findIdsExpiredBefore(@Param("now") Instant now, Pageable chunk);
+
+    // Retention lag: how far behind the purge job is.
+    @Query("select min(n.createdAt) from #{#entityName} n")
+    Instant findOldestCreatedAt();
 }
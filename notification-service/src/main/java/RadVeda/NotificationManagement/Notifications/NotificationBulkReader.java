@@ -0,0 +1,267 @@
+package RadVeda.NotificationManagement.Notifications;
+
+import RadVeda.NotificationManagement.StorageEncryption.EncryptionUtility;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * WHAT IT IS:
+ * The read path behind the "get all notifications of a recipient" lists.
+ *
+ * WHY WE NEED IT:
+ * Through JPA, every encrypted column of every row is decrypted by its
+ * converter, one field at a time, on the request thread. For an inbox with
+ * hundreds of rows that is the whole cost of the request.
+ *
+ * WHY WE NEED IT ALL OF THAT:
+ * 1. JdbcTemplate: We select the RAW ciphertext (the recipient parameters are
+ * encrypted with encryptSearchable, exactly what the converter would bind), so
+ * nothing is decrypted while the result set is read.
+ * 2. Bulk decrypt: All ciphertexts are then decrypted in one pass. Above
+ * `parallel-threshold` rows the pass is split into slices on the common
+ * ForkJoinPool; workers reuse pooled Ciphers (see EncryptionUtility), so
+ * large inboxes scale with the number of cores.
+ * 3. The result is the same entity classes the repositories return (detached,
+ * never managed), so controllers and JSON stay unchanged.
+ * 4. forEach*: The export variant. Rows come from a forward-only cursor and are
+ * decrypted and handed over one at a time, so memory does not grow with the
+ * size of the history.
+ */
+@Component
+@RequiredArgsConstructor
+public class NotificationBulkReader {
+
+    // Hibernate stores Instant columns in UTC, so they must be read back in UTC.
+    private static final ThreadLocal<Calendar> UTC = ThreadLocal
+            .withInitial(() -> Calendar.getInstance(TimeZone.getTimeZone("UTC")));
+
+    private static final String COMMON_COLUMNS = "id, message, is_read, created_at, expires_at";
+    private static final String BY_RECIPIENT = " where recipient_type = ? and recipient_id = ?";
+
+    private static final String CHAT_SQL = "select " + COMMON_COLUMNS
+            + ", chat_type, chat_id from chat_notification" + BY_RECIPIENT;
+    private static final String CONSENT_SQL = "select " + COMMON_COLUMNS
+            + ", consent_request_id from consent_request_notification" + BY_RECIPIENT;
+    private static final String ONE_WAY_SQL = "select " + COMMON_COLUMNS + " from one_way_notification"
+            + BY_RECIPIENT;
+    private static final String ARCHIVE_SQL = "select payload from archived_notification"
+            + " where source_type = ? and recipient_type = ? and recipient_id = ? order by created_at, id";
+    private static final String OLDEST_FIRST = " order by created_at, id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${notifications.bulk-read.parallel-threshold:256}")
+    private int parallelThreshold;
+
+    @Value("${notifications.bulk-read.slice-size:64}")
+    private int sliceSize;
+
+    @Value("${notifications.bulk-read.stream-fetch-size:-2147483648}")
+    private int streamFetchSize;
+
+    public List<ChatNotification> findChatNotifications(String recipientType, Long recipientId) {
+        return read(CHAT_SQL, 2, recipientType, recipientId, row -> toChat(row, recipientType, recipientId));
+    }
+
+    public List<ConsentRequestNotification> findConsentRequestNotifications(String recipientType, Long recipientId) {
+        return read(CONSENT_SQL, 1, recipientType, recipientId, row -> toConsent(row, recipientType, recipientId));
+    }
+
+    public List<OneWayNotification> findOneWayNotifications(String recipientType, Long recipientId) {
+        return read(ONE_WAY_SQL, 0, recipientType, recipientId, row -> toOneWay(row, recipientType, recipientId));
+    }
+
+    // --- Streaming (forward-only cursor, one row decrypted at a time, oldest first) ---
+
+    public void forEachChatNotification(String recipientType, Long recipientId, Consumer<ChatNotification> action) {
+        stream(CHAT_SQL + OLDEST_FIRST, 2, recipientType, recipientId,
+                row -> action.accept(toChat(row, recipientType, recipientId)));
+    }
+
+    public void forEachConsentRequestNotification(String recipientType, Long recipientId,
+            Consumer<ConsentRequestNotification> action) {
+        stream(CONSENT_SQL + OLDEST_FIRST, 1, recipientType, recipientId,
+                row -> action.accept(toConsent(row, recipientType, recipientId)));
+    }
+
+    public void forEachOneWayNotification(String recipientType, Long recipientId,
+            Consumer<OneWayNotification> action) {
+        stream(ONE_WAY_SQL + OLDEST_FIRST, 0, recipientType, recipientId,
+                row -> action.accept(toOneWay(row, recipientType, recipientId)));
+    }
+
+    /** Decrypted (still packed, see NotificationArchiveCodec) archive payloads of one source type. */
+    public void forEachArchivedPayload(String sourceType, String recipientType, Long recipientId,
+            Consumer<String> action) {
+        jdbcTemplate.query(forwardOnly(ARCHIVE_SQL, sourceType, EncryptionUtility.encryptSearchable(recipientType),
+                EncryptionUtility.encryptSearchable(recipientId)),
+                (RowCallbackHandler) rs -> action.accept(EncryptionUtility.decrypt(rs.getString(1))));
+    }
+
+    private ChatNotification toChat(RawRow row, String recipientType, Long recipientId) {
+        ChatNotification n = new ChatNotification();
+        fill(n, row, recipientType, recipientId);
+        n.setId(row.id);
+        n.setChatType(row.plainTexts[1]);
+        n.setChatId(parseLong(row.plainTexts[2]));
+        return n;
+    }
+
+    private ConsentRequestNotification toConsent(RawRow row, String recipientType, Long recipientId) {
+        ConsentRequestNotification n = new ConsentRequestNotification();
+        fill(n, row, recipientType, recipientId);
+        n.setId(row.id);
+        n.setConsentRequestId(parseLong(row.plainTexts[1]));
+        return n;
+    }
+
+    private OneWayNotification toOneWay(RawRow row, String recipientType, Long recipientId) {
+        OneWayNotification n = new OneWayNotification();
+        fill(n, row, recipientType, recipientId);
+        n.setId(row.id);
+        return n;
+    }
+
+    /**
+     * One row as read from the DB. `plainTexts` holds the ciphertexts first
+     * (message, then the extra columns) and is decrypted in place.
+     */
+    private static final class RawRow {
+        private final long id;
+        private final boolean read;
+        private final Instant createdAt;
+        private final Instant expiresAt;
+        private final String[] plainTexts;
+
+        private RawRow(ResultSet rs, int extraColumns) throws SQLException {
+            id = rs.getLong("id");
+            read = rs.getBoolean("is_read");
+            createdAt = instant(rs.getTimestamp("created_at", UTC.get()));
+            expiresAt = instant(rs.getTimestamp("expires_at", UTC.get()));
+            plainTexts = new String[1 + extraColumns];
+            plainTexts[0] = rs.getString("message");
+            for (int i = 1; i <= extraColumns; i++) {
+                // Extra columns come right after the five common ones.
+                plainTexts[i] = rs.getString(5 + i);
+            }
+        }
+    }
+
+    /** Decrypts rows [from, to) in place, splitting until a slice is small enough. */
+    private final class DecryptSlice extends RecursiveAction {
+        private final List<RawRow> rows;
+        private final int from;
+        private final int to;
+
+        private DecryptSlice(List<RawRow> rows, int from, int to) {
+            this.rows = rows;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= sliceSize) {
+                decrypt(rows, from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new DecryptSlice(rows, from, middle), new DecryptSlice(rows, middle, to));
+        }
+    }
+
+    private <T> List<T> read(String sql, int extraColumns, String recipientType, Long recipientId,
+            Function<RawRow, T> assembler) {
+        List<RawRow> rows = jdbcTemplate.query(sql, (rs, rowNum) -> new RawRow(rs, extraColumns),
+                EncryptionUtility.encryptSearchable(recipientType), EncryptionUtility.encryptSearchable(recipientId));
+
+        if (rows.size() >= parallelThreshold) {
+            ForkJoinPool.commonPool().invoke(new DecryptSlice(rows, 0, rows.size()));
+        } else {
+            decrypt(rows, 0, rows.size());
+        }
+
+        List<T> result = new ArrayList<>(rows.size());
+        for (RawRow row : rows) {
+            result.add(assembler.apply(row));
+        }
+        return result;
+    }
+
+    private void stream(String sql, int extraColumns, String recipientType, Long recipientId,
+            Consumer<RawRow> action) {
+        jdbcTemplate.query(forwardOnly(sql, EncryptionUtility.encryptSearchable(recipientType),
+                EncryptionUtility.encryptSearchable(recipientId)), (RowCallbackHandler) rs -> {
+                    RawRow row = new RawRow(rs, extraColumns);
+                    decrypt(row);
+                    action.accept(row);
+                });
+    }
+
+    /**
+     * A read-only, forward-only statement with `stream-fetch-size`. With MySQL,
+     * Integer.MIN_VALUE makes the driver hand over rows one by one instead of
+     * buffering the whole result set in the heap.
+     */
+    private PreparedStatementCreator forwardOnly(String sql, Object... args) {
+        return con -> {
+            PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(streamFetchSize);
+            for (int i = 0; i < args.length; i++) {
+                ps.setObject(i + 1, args[i]);
+            }
+            return ps;
+        };
+    }
+
+    private static void decrypt(List<RawRow> rows, int from, int to) {
+        for (int i = from; i < to; i++) {
+            decrypt(rows.get(i));
+        }
+    }
+
+    private static void decrypt(RawRow row) {
+        String[] values = row.plainTexts;
+        for (int j = 0; j < values.length; j++) {
+            if (values[j] != null) {
+                values[j] = EncryptionUtility.decrypt(values[j]);
+            }
+        }
+    }
+
+    private static void fill(Notification n, RawRow row, String recipientType, Long recipientId) {
+        // The recipient columns matched the query, so their plaintext is already known.
+        n.setRecipientType(recipientType);
+        n.setRecipientId(recipientId);
+        n.setMessage(row.plainTexts[0]);
+        n.setRead(row.read);
+        n.setCreatedAt(row.createdAt);
+        n.setExpiresAt(row.expiresAt);
+    }
+
+    private static Long parseLong(String value) {
+        return value == null ? null : Long.valueOf(value);
+    }
+
+    private static Instant instant(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toInstant();
+    }
+}
@@ -1,9 +1,6 @@
 package RadVeda.NotificationManagement.Notifications;
 
-import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
-import jakarta.persistence.Id;
+import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -30,6 +27,11 @@ import lombok.Setter;
 @Entity
 @NoArgsConstructor
 @AllArgsConstructor
+@Table(indexes = {
+        @Index(columnList = "recipientType, recipientId, createdAt"),
+        @Index(columnList = "createdAt"),
+        @Index(columnList = "expiresAt")
+})
 public class OneWayNotification extends Notification {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
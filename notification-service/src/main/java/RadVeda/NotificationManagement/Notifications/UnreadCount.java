@@ -0,0 +1,14 @@
+package RadVeda.NotificationManagement.Notifications;
+
+/**
+ * WHAT IT IS:
+ * The response of the unread-count endpoint: one number per notification type
+ * plus the total the client shows on its badge.
+ */
+public record UnreadCount(
+        long chat,
+        long consent,
+        long oneWay,
+        long broadcast,
+        long total) {
+}
@@ -0,0 +1,53 @@
+package RadVeda.NotificationManagement.StorageEncryption;
+
+import javax.crypto.Cipher;
+import java.security.GeneralSecurityException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * WHAT IT IS:
+ * A small lock-free pool of Cipher instances for one transformation.
+ * 
+ * WHY WE NEED IT:
+ * Cipher.getInstance is a provider lookup and a Cipher is not thread-safe, so
+ * instances are reused, one user at a time. A ThreadLocal would do that on a
+ * fixed thread pool, but with virtual threads (one new thread per request)
+ * every request would build its own Cipher again. A pool works the same for
+ * both, never blocks (no synchronized, no pinning), and keeps at most
+ * `maxIdle` instances around.
+ */
+final class CipherPool {
+
+    private final String transformation;
+    private final int maxIdle;
+    private final ConcurrentLinkedQueue<Cipher> idle = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger idleCount = new AtomicInteger();
+
+    CipherPool(String transformation) {
+        this.transformation = transformation;
+        this.maxIdle = Runtime.getRuntime().availableProcessors() * 4;
+    }
+
+    Cipher borrow() {
+        Cipher cipher = idle.poll();
+        if (cipher != null) {
+            idleCount.decrementAndGet();
+            return cipher;
+        }
+        try {
+            return Cipher.getInstance(transformation);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cipher not available: " + transformation, e);
+        }
+    }
+
+    // Every use starts with init(), so a returned Cipher carries no state over.
+    void release(Cipher cipher) {
+        if (idleCount.incrementAndGet() <= maxIdle) {
+            idle.offer(cipher);
+        } else {
+            idleCount.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package RadVeda.NotificationManagement.StorageEncryption.Converters;
+
+import RadVeda.NotificationManagement.StorageEncryption.EncryptionUtility;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * WHAT IT IS:
+ * The EncryptedLongConverter for columns we SEARCH on (recipientId).
+ * 
+ * WHY WE NEED IT:
+ * Same reason as SearchableEncryptedStringConverter: equality queries need a
+ * deterministic ciphertext under a key that is not rotated.
+ */
+@Converter
+public class SearchableEncryptedLongConverter implements AttributeConverter<Long, String> {
+
+    @Override
+    public String convertToDatabaseColumn(Long attribute) {
+        return attribute == null ? null : EncryptionUtility.encryptSearchable(attribute);
+    }
+
+    @Override
+    public Long convertToEntityAttribute(String dbData) {
+        return dbData == null ? null : EncryptionUtility.decryptLong(dbData);
+    }
+}
@@ -0,0 +1,29 @@
+package RadVeda.NotificationManagement.StorageEncryption.Converters;
+
+import RadVeda.NotificationManagement.StorageEncryption.EncryptionUtility;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * WHAT IT IS:
+ * The EncryptedStringConverter for columns we SEARCH on (recipientType).
+ * 
+ * WHY WE NEED IT:
+ * Queries like `findByRecipientTypeAndRecipientId` work by encrypting the
+ * parameter and comparing ciphertexts in the DB. That only works if the same
+ * value always encrypts to the same text, under a key that never rotates.
+ * So these columns use EncryptionUtility.encryptSearchable (the original key
+ * and format), while all other columns use rotating, versioned data keys.
+ */
+@Converter
+public class SearchableEncryptedStringConverter implements AttributeConverter<String, String> {
+    @Override
+    public String convertToDatabaseColumn(String attribute) {
+        return attribute == null ? null : EncryptionUtility.encryptSearchable(attribute);
+    }
+
+    @Override
+    public String convertToEntityAttribute(String dbData) {
+        return dbData == null ? null : EncryptionUtility.decrypt(dbData);
+    }
+}
@@ -1,15 +1,23 @@
 package RadVeda.NotificationManagement.StorageEncryption;
 
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
 import javax.crypto.Cipher;
 import javax.crypto.SecretKey;
-import javax.crypto.spec.SecretKeySpec;
+import javax.crypto.spec.GCMParameterSpec;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.ArrayList;
 import java.util.Base64;
-import java.time.LocalDate;
-import java.util.Date;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.nio.charset.StandardCharsets.UTF_8;
 
 /**
  * WHAT IT IS:
@@ -27,67 +35,258 @@ import java.text.SimpleDateFormat;
  * 1. AES Algorithm: We use AES (Advanced Encryption Standard) because it is a
  * widely accepted
  * and secure symmetric encryption algorithm.
- * 2. Static Block & System.getenv: We initialize the secret key from an
- * environment variable
- * (STORAGE_ENCRYPTION_SECRET_KEY) instead of hardcoding it. This is a critical
- * security practice
- * to prevent secrets from being committed to version control.
+ * 2. KeyRing: The keys come from environment variables (see KeyRing) instead of
+ * being hardcoded, and are loaded lazily on first use.
  * 3. Cipher Class: This is Java's standard class for cryptographic operations.
  * We perform both
- * encryption (ENCRYPT_MODE) and decryption (DECRYPT_MODE).
+ * encryption (ENCRYPT_MODE) and decryption (DECRYPT_MODE). Ciphers are
+ * borrowed from a CipherPool and only re-initialised per value, which works on
+ * platform and virtual threads alike (the JVM runs AES and GCM on the CPU's
+ * AES/CLMUL instructions).
  * 4. Base64: Encryption produces raw bytes, which can be messy to store or
  * print. Base64 encoding
  * converts these bytes into a safe, printable string format.
+ * 
+ * STORED FORMATS ('$' never appears in Base64, so the prefix is unambiguous):
+ * - "<base64>": original format, original key. Also used on purpose for
+ * SEARCHABLE columns, which must encrypt the same value to the same text.
+ * - "<tag>$<keyId>$<base64>": versioned format (see StorageFormat), data key
+ * <keyId> from the KeyRing. For GCM the Base64 part is IV || ciphertext || tag.
+ * Decryption reads the prefix and picks the right format and key, so several
+ * formats and key versions can live in the same table.
+ * 
+ * BYTE PATH:
+ * encryptToBytes / decryptToBytes work on byte[] end to end (no String in the
+ * middle); the String methods are thin wrappers around them.
+ * 
+ * METRICS:
+ * notifications.encryption{op,format}: time per value (format = LEGACY for the
+ * original/searchable one). This class is static, so the timers live in the
+ * global registry, which Spring Boot links to its own; without a registry (e.g.
+ * benchmarks) they do nothing.
  */
 public class EncryptionUtility {
 
     private static final String ALGORITHM = "AES";
-    private static final SecretKey SECRET_KEY;
-    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE;
-    private static final DateTimeFormatter DATETIME_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+    private static final String GCM_TRANSFORMATION = "AES/GCM/NoPadding";
+    private static final int GCM_IV_BYTES = 12;
+    private static final int GCM_TAG_BITS = 128;
+    private static final char SEPARATOR = '$';
 
-    static {
-        try {
-            // IMPORTANT: You must set this environment variable on your machine/server
-            String key = System.getenv("STORAGE_ENCRYPTION_SECRET_KEY");
-            if (key == null || key.length() != 16) {
-                throw new IllegalStateException(
-                        "Storage encryption secret key is not properly configured! Must be 16 characters.");
-            }
-            SECRET_KEY = new SecretKeySpec(key.getBytes(), ALGORITHM);
-        } catch (Exception e) {
-            throw new RuntimeException("Error initializing encryption utility", e);
+    private static final CipherPool ECB_CIPHERS = new CipherPool(ALGORITHM);
+    private static final CipherPool GCM_CIPHERS = new CipherPool(GCM_TRANSFORMATION);
+    // SecureRandom is thread-safe; one shared instance avoids reseeding per thread.
+    private static final SecureRandom IV_SOURCE = new SecureRandom();
+
+    private static final Timer ENCRYPT_LEGACY = timer("encrypt", "LEGACY");
+    private static final Timer DECRYPT_LEGACY = timer("decrypt", "LEGACY");
+    private static final Map<StorageFormat, Timer> ENCRYPT = timers("encrypt");
+    private static final Map<StorageFormat, Timer> DECRYPT = timers("decrypt");
+
+    /**
+     * Encrypts a value with the ACTIVE data key in the configured StorageFormat
+     * (or in the original format if no versioned key is configured). Use for every
+     * column that is never part of a WHERE clause.
+     */
+    public static String encrypt(String plainText) {
+        KeyRing ring = KeyRing.get();
+        if (ring.activeKeyId() == null) {
+            return encryptSearchable(plainText);
         }
+        return encrypt(plainText, ring.writeFormat());
     }
 
-    public static String encrypt(String plainText) {
+    public static String encrypt(String plainText, StorageFormat format) {
+        // Stored values are pure ASCII, so ISO_8859_1 is a plain byte copy.
+        return new String(encryptToBytes(plainText.getBytes(UTF_8), format), ISO_8859_1);
+    }
+
+    /**
+     * Deterministic encryption with the original key: the same input always gives
+     * the same output, so the DB can compare it. Used for recipient columns.
+     */
+    public static String encryptSearchable(String plainText) {
+        long start = System.nanoTime();
+        Cipher cipher = ECB_CIPHERS.borrow();
         try {
-            Cipher cipher = Cipher.getInstance(ALGORITHM);
-            cipher.init(Cipher.ENCRYPT_MODE, SECRET_KEY);
-            byte[] encrypted = cipher.doFinal(plainText.getBytes());
-            return Base64.getEncoder().encodeToString(encrypted);
-        } catch (Exception e) {
+            cipher.init(Cipher.ENCRYPT_MODE, KeyRing.get().searchableKey());
+            return Base64.getEncoder().encodeToString(cipher.doFinal(plainText.getBytes()));
+        } catch (GeneralSecurityException e) {
             throw new RuntimeException("Error encrypting data", e);
+        } finally {
+            ECB_CIPHERS.release(cipher);
+            ENCRYPT_LEGACY.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         }
     }
 
     public static String decrypt(String encryptedText) {
-        try {
-            Cipher cipher = Cipher.getInstance(ALGORITHM);
-            cipher.init(Cipher.DECRYPT_MODE, SECRET_KEY);
-            byte[] decoded = Base64.getDecoder().decode(encryptedText);
-            byte[] decrypted = cipher.doFinal(decoded);
-            return new String(decrypted);
-        } catch (Exception e) {
-            throw new RuntimeException("Error decrypting data", e);
+        if (encryptedText.indexOf(SEPARATOR) < 0) {
+            // Original format: keep the original charset handling byte for byte.
+            return new String(decryptToBytes(encryptedText.getBytes(ISO_8859_1)));
         }
+        return new String(decryptToBytes(encryptedText.getBytes(ISO_8859_1)), UTF_8);
     }
 
     public static String encrypt(Long value) {
         return encrypt(value.toString());
     }
 
+    public static String encryptSearchable(Long value) {
+        return encryptSearchable(value.toString());
+    }
+
     public static Long decryptLong(String encryptedText) {
         return Long.parseLong(decrypt(encryptedText));
     }
+
+    /**
+     * Decrypts many values on the calling thread, in order (nulls stay null).
+     * Ciphers come from the pool, so a batch doesn't pay a lookup per value.
+     */
+    public static List<String> decryptAll(List<String> encryptedTexts) {
+        List<String> plainTexts = new ArrayList<>(encryptedTexts.size());
+        for (String encryptedText : encryptedTexts) {
+            plainTexts.add(encryptedText == null ? null : decrypt(encryptedText));
+        }
+        return plainTexts;
+    }
+
+    /**
+     * Encrypts raw bytes with the active data key and returns the stored value as
+     * ASCII bytes ("<tag>$<keyId>$<base64>").
+     */
+    public static byte[] encryptToBytes(byte[] plainText, StorageFormat format) {
+        long start = System.nanoTime();
+        KeyRing ring = KeyRing.get();
+        String keyId = ring.activeKeyId();
+        if (keyId == null) {
+            throw new IllegalStateException("No active storage encryption key configured");
+        }
+
+        byte[] raw;
+        try {
+            SecretKey key = ring.dataKey(keyId);
+            if (format == StorageFormat.GCM) {
+                byte[] iv = new byte[GCM_IV_BYTES];
+                IV_SOURCE.nextBytes(iv);
+                Cipher cipher = GCM_CIPHERS.borrow();
+                try {
+                    cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(GCM_TAG_BITS, iv));
+                    raw = new byte[GCM_IV_BYTES + cipher.getOutputSize(plainText.length)];
+                    System.arraycopy(iv, 0, raw, 0, GCM_IV_BYTES);
+                    cipher.doFinal(plainText, 0, plainText.length, raw, GCM_IV_BYTES);
+                } finally {
+                    GCM_CIPHERS.release(cipher);
+                }
+            } else {
+                Cipher cipher = ECB_CIPHERS.borrow();
+                try {
+                    cipher.init(Cipher.ENCRYPT_MODE, key);
+                    raw = cipher.doFinal(plainText);
+                } finally {
+                    ECB_CIPHERS.release(cipher);
+                }
+            }
+        } catch (GeneralSecurityException e) {
+            throw new RuntimeException("Error encrypting data", e);
+        }
+
+        byte[] header = (format.tag() + SEPARATOR + keyId + SEPARATOR).getBytes(ISO_8859_1);
+        byte[] encoded = Base64.getEncoder().encode(raw);
+        byte[] stored = new byte[header.length + encoded.length];
+        System.arraycopy(header, 0, stored, 0, header.length);
+        System.arraycopy(encoded, 0, stored, header.length, encoded.length);
+        ENCRYPT.get(format).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return stored;
+    }
+
+    /**
+     * The reverse of encryptToBytes, for every stored format (including the
+     * original unversioned one). Returns the raw plaintext bytes.
+     */
+    public static byte[] decryptToBytes(byte[] stored) {
+        long start = System.nanoTime();
+        Timer timer = DECRYPT_LEGACY;
+        try {
+            int first = indexOf(stored, 0);
+            if (first < 0) {
+                return run(ECB_CIPHERS, Cipher.DECRYPT_MODE, KeyRing.get().searchableKey(), null,
+                        Base64.getDecoder().decode(stored), 0, -1);
+            }
+
+            int second = indexOf(stored, first + 1);
+            if (second < 0) {
+                throw new IllegalArgumentException("Malformed stored value");
+            }
+            StorageFormat format = StorageFormat.fromTag(new String(stored, 0, first, ISO_8859_1));
+            timer = DECRYPT.get(format);
+            SecretKey key = KeyRing.get().dataKey(new String(stored, first + 1, second - first - 1, ISO_8859_1));
+
+            ByteBuffer raw = Base64.getDecoder().decode(ByteBuffer.wrap(stored, second + 1, stored.length - second - 1));
+            byte[] bytes = raw.array();
+            int offset = raw.arrayOffset() + raw.position();
+            int length = raw.remaining();
+
+            if (format == StorageFormat.GCM) {
+                return run(GCM_CIPHERS, Cipher.DECRYPT_MODE, key,
+                        new GCMParameterSpec(GCM_TAG_BITS, bytes, offset, GCM_IV_BYTES),
+                        bytes, offset + GCM_IV_BYTES, length - GCM_IV_BYTES);
+            }
+            return run(ECB_CIPHERS, Cipher.DECRYPT_MODE, key, null, bytes, offset, length);
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new RuntimeException("Error decrypting data", e);
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * True if `encryptedText` is already in the format `encrypt` would write now
+     * (same format, same active key). ReEncryptionJob skips those values.
+     */
+    public static boolean isCurrent(String encryptedText) {
+        KeyRing ring = KeyRing.get();
+        if (ring.activeKeyId() == null) {
+            return encryptedText.indexOf(SEPARATOR) < 0;
+        }
+        return encryptedText.startsWith(ring.writeFormat().tag() + SEPARATOR + ring.activeKeyId() + SEPARATOR);
+    }
+
+    private static Timer timer(String op, String format) {
+        return Timer.builder("notifications.encryption").tag("op", op).tag("format", format)
+                .register(Metrics.globalRegistry);
+    }
+
+    private static Map<StorageFormat, Timer> timers(String op) {
+        Map<StorageFormat, Timer> timers = new EnumMap<>(StorageFormat.class);
+        for (StorageFormat format : StorageFormat.values()) {
+            timers.put(format, timer(op, format.name()));
+        }
+        return timers;
+    }
+
+    private static int indexOf(byte[] stored, int from) {
+        for (int i = from; i < stored.length; i++) {
+            if (stored[i] == SEPARATOR) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // One init + doFinal on a pooled Cipher. length -1 = the whole array.
+    private static byte[] run(CipherPool pool, int mode, SecretKey key, GCMParameterSpec spec, byte[] input,
+            int offset, int length) throws GeneralSecurityException {
+        Cipher cipher = pool.borrow();
+        try {
+            if (spec == null) {
+                cipher.init(mode, key);
+            } else {
+                cipher.init(mode, key, spec);
+            }
+            return cipher.doFinal(input, offset, length < 0 ? input.length : length);
+        } finally {
+            pool.release(cipher);
+        }
+    }
 }
@@ -0,0 +1,166 @@
+package RadVeda.NotificationManagement.StorageEncryption;
+
+import javax.crypto.Cipher;
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * WHAT IT IS:
+ * All the keys EncryptionUtility may need, loaded once from the environment.
+ * 
+ * WHY WE NEED IT:
+ * A single static key can't be rotated without rewriting every table offline.
+ * The key ring holds several VERSIONED data keys, so old rows stay readable
+ * while new rows are written with the newest key.
+ * 
+ * WHY WE NEED IT ALL OF THAT:
+ * 1. STORAGE_ENCRYPTION_SECRET_KEY (16 chars): The original key. It is still
+ * used for "searchable" columns (recipientType / recipientId), which must stay
+ * deterministic for equality queries, and for rows written before versioning.
+ * 2. STORAGE_ENCRYPTION_MASTER_KEY (Base64, 16/32 bytes): The key-encryption-key.
+ * It never encrypts data, it only unwraps the data keys (envelope encryption).
+ * 3. STORAGE_ENCRYPTION_DATA_KEYS: "k1:<wrapped>,k2:<wrapped>" - the data keys,
+ * each wrapped (AESWrap) with the master key. Generate one with
+ * `java -cp app.jar RadVeda.NotificationManagement.StorageEncryption.KeyRing <masterKeyBase64>`.
+ * 4. STORAGE_ENCRYPTION_ACTIVE_KEY_ID: Which data key encrypts NEW values. If
+ * unset, new values keep the original (unversioned) format.
+ * 5. STORAGE_ENCRYPTION_FORMAT: "ECB" (default) or "GCM", the StorageFormat of
+ * new versioned values. Switch to GCM once every replica can read it.
+ * 6. Lazy loading: Nothing is read at class-load time. A bad key now fails the
+ * first encrypt/decrypt with a clear IllegalStateException (and is retried on
+ * the next call) instead of killing class loading for the whole app.
+ * Each setting falls back to a JVM system property of the same name.
+ */
+public final class KeyRing {
+
+    private static final String ALGORITHM = "AES";
+    private static final AtomicReference<KeyRing> INSTANCE = new AtomicReference<>();
+
+    private final SecretKey searchableKey;
+    private final Map<String, SecretKey> dataKeys;
+    private final String activeKeyId;
+    private final StorageFormat writeFormat;
+
+    private KeyRing(SecretKey searchableKey, Map<String, SecretKey> dataKeys, String activeKeyId,
+            StorageFormat writeFormat) {
+        this.searchableKey = searchableKey;
+        this.dataKeys = dataKeys;
+        this.activeKeyId = activeKeyId;
+        this.writeFormat = writeFormat;
+    }
+
+    public static KeyRing get() {
+        KeyRing ring = INSTANCE.get();
+        if (ring == null) {
+            // Loading is cheap and idempotent: if two threads race, one result wins.
+            INSTANCE.compareAndSet(null, load());
+            ring = INSTANCE.get();
+        }
+        return ring;
+    }
+
+    public SecretKey searchableKey() {
+        return searchableKey;
+    }
+
+    public SecretKey dataKey(String keyId) {
+        SecretKey key = dataKeys.get(keyId);
+        if (key == null) {
+            throw new IllegalStateException("Unknown storage encryption key id: " + keyId);
+        }
+        return key;
+    }
+
+    // null = no versioned key configured, new values use the original format.
+    public String activeKeyId() {
+        return activeKeyId;
+    }
+
+    public StorageFormat writeFormat() {
+        return writeFormat;
+    }
+
+    private static KeyRing load() {
+        String key = setting("STORAGE_ENCRYPTION_SECRET_KEY");
+        if (key == null || key.length() != 16) {
+            throw new IllegalStateException(
+                    "Storage encryption secret key is not properly configured! Must be 16 characters.");
+        }
+        SecretKey searchableKey = new SecretKeySpec(key.getBytes(), ALGORITHM);
+
+        Map<String, SecretKey> dataKeys = new HashMap<>();
+        String wrappedKeys = setting("STORAGE_ENCRYPTION_DATA_KEYS");
+        if (wrappedKeys != null && !wrappedKeys.isBlank()) {
+            SecretKey masterKey = masterKey();
+            for (String entry : wrappedKeys.split(",")) {
+                String[] parts = entry.trim().split(":", 2);
+                if (parts.length != 2 || parts[0].isEmpty() || parts[0].indexOf('$') >= 0) {
+                    throw new IllegalStateException("Malformed entry in STORAGE_ENCRYPTION_DATA_KEYS: " + parts[0]);
+                }
+                dataKeys.put(parts[0], unwrap(masterKey, parts[1]));
+            }
+        }
+
+        String activeKeyId = setting("STORAGE_ENCRYPTION_ACTIVE_KEY_ID");
+        if (activeKeyId != null && activeKeyId.isBlank()) {
+            activeKeyId = null;
+        }
+        if (activeKeyId != null && !dataKeys.containsKey(activeKeyId)) {
+            throw new IllegalStateException("Active storage encryption key id is not in the key ring: " + activeKeyId);
+        }
+
+        String format = setting("STORAGE_ENCRYPTION_FORMAT");
+        StorageFormat writeFormat = format == null || format.isBlank() ? StorageFormat.ECB
+                : StorageFormat.valueOf(format.trim().toUpperCase());
+        if (writeFormat == StorageFormat.GCM && activeKeyId == null) {
+            throw new IllegalStateException("STORAGE_ENCRYPTION_FORMAT=GCM needs STORAGE_ENCRYPTION_ACTIVE_KEY_ID");
+        }
+
+        return new KeyRing(searchableKey, Collections.unmodifiableMap(dataKeys), activeKeyId, writeFormat);
+    }
+
+    private static SecretKey masterKey() {
+        String master = setting("STORAGE_ENCRYPTION_MASTER_KEY");
+        if (master == null) {
+            throw new IllegalStateException("STORAGE_ENCRYPTION_DATA_KEYS is set but STORAGE_ENCRYPTION_MASTER_KEY is not");
+        }
+        return new SecretKeySpec(Base64.getDecoder().decode(master), ALGORITHM);
+    }
+
+    private static SecretKey unwrap(SecretKey masterKey, String wrapped) {
+        try {
+            Cipher cipher = Cipher.getInstance("AESWrap");
+            cipher.init(Cipher.UNWRAP_MODE, masterKey);
+            return (SecretKey) cipher.unwrap(Base64.getDecoder().decode(wrapped), ALGORITHM, Cipher.SECRET_KEY);
+        } catch (Exception e) {
+            throw new IllegalStateException("Error unwrapping storage encryption data key", e);
+        }
+    }
+
+    private static String setting(String name) {
+        String value = System.getenv(name);
+        return value != null ? value : System.getProperty(name);
+    }
+
+    /**
+     * Prints a fresh 256-bit data key, wrapped with the given Base64 master key,
+     * ready to be appended to STORAGE_ENCRYPTION_DATA_KEYS.
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length != 1) {
+            System.err.println("usage: KeyRing <masterKeyBase64>");
+            System.exit(1);
+        }
+        KeyGenerator generator = KeyGenerator.getInstance(ALGORITHM);
+        generator.init(256);
+        Cipher cipher = Cipher.getInstance("AESWrap");
+        cipher.init(Cipher.WRAP_MODE, new SecretKeySpec(Base64.getDecoder().decode(args[0]), ALGORITHM));
+        System.out.println(Base64.getEncoder().encodeToString(cipher.wrap(generator.generateKey())));
+    }
+}
@@ -0,0 +1,32 @@
+package RadVeda.NotificationManagement.StorageEncryption;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * WHAT IT IS:
+ * How far ReEncryptionJob got in one table for one target key.
+ * 
+ * WHY WE NEED IT:
+ * Re-encrypting a big table takes many runs (and may be interrupted by a
+ * deploy). The job resumes from `lastId` instead of starting over. When the
+ * active key or the write format changes, `keyId` (e.g. "k2/GCM") no longer
+ * matches and the table is walked again from the start.
+ */
+@Getter
+@Setter
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReEncryptionCheckpoint {
+    @Id
+    private String tableName;
+
+    private Long lastId;
+
+    private String keyId;
+}
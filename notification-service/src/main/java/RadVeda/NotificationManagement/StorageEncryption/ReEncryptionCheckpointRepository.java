@@ -0,0 +1,10 @@
+package RadVeda.NotificationManagement.StorageEncryption;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/**
+ * WHAT IT IS:
+ * Repository for ReEncryptionCheckpoint entities. Silence is golden.
+ */
+public interface ReEncryptionCheckpointRepository extends JpaRepository<ReEncryptionCheckpoint, String> {
+}
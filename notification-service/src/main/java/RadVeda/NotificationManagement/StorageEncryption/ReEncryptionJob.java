@@ -0,0 +1,134 @@
+package RadVeda.NotificationManagement.StorageEncryption;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * WHAT IS THE POINT OF THIS FILE:
+ * The background job that rewrites stored ciphertext with the ACTIVE data key
+ * (see KeyRing), while the service keeps serving traffic.
+ * 
+ * WHY WE NEED IT:
+ * After rotating STORAGE_ENCRYPTION_ACTIVE_KEY_ID, new rows use the new key but
+ * old rows still use the old one. Once this job has walked every table, the old
+ * key can be removed from the ring.
+ * 
+ * HOW IT WORKS:
+ * 1. Works on RAW column values (JdbcTemplate), not entities: Hibernate would
+ * see the same plaintext and skip the UPDATE.
+ * 2. Walks each table by primary key in chunks of `chunk-size`, sleeping
+ * `pause` between chunks, and stores its position in ReEncryptionCheckpoint,
+ * so it can stop and resume at any time.
+ * 3. Every UPDATE is a compare-and-set ("... WHERE id = ? AND col = <old>"), so
+ * a row changed by the app in the meantime is never overwritten.
+ * 4. The checkpoint remembers the target (active key id and StorageFormat):
+ * after a key rotation OR a switch from ECB to GCM, every table is walked again.
+ * 5. Searchable columns (recipientType / recipientId) are NOT touched: they
+ * stay on the deterministic key so equality queries keep working.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ReEncryptionJob {
+
+    // Table -> columns that hold rotating (non-searchable) ciphertext.
+    private static final Map<String, List<String>> TARGETS = Map.of(
+            "chat_notification", List.of("message", "chat_type", "chat_id"),
+            "consent_request_notification", List.of("message", "consent_request_id"),
+            "one_way_notification", List.of("message"),
+            "broadcast_notification", List.of("message"),
+            "archived_notification", List.of("payload"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ReEncryptionCheckpointRepository checkpointRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${notifications.encryption.reencrypt.enabled:false}")
+    private boolean enabled;
+
+    @Value("${notifications.encryption.reencrypt.chunk-size:200}")
+    private int chunkSize;
+
+    @Value("${notifications.encryption.reencrypt.max-chunks-per-run:100}")
+    private int maxChunksPerRun;
+
+    @Value("${notifications.encryption.reencrypt.pause:PT0.1S}")
+    private Duration pause;
+
+    @Scheduled(fixedDelayString = "${notifications.encryption.reencrypt.interval:PT5M}",
+            initialDelayString = "${notifications.encryption.reencrypt.initial-delay:PT2M}")
+    public void reEncrypt() {
+        if (!enabled) {
+            return;
+        }
+        // What `encrypt` writes now: switching the format under the same key is a new target too.
+        KeyRing ring = KeyRing.get();
+        String target = ring.activeKeyId() == null ? "unversioned" : ring.activeKeyId() + "/" + ring.writeFormat();
+
+        TARGETS.forEach((table, columns) -> reEncryptTable(table, columns, target));
+    }
+
+    private void reEncryptTable(String table, List<String> columns, String target) {
+        ReEncryptionCheckpoint checkpoint = checkpointRepository.findById(table)
+                .filter(c -> target.equals(c.getKeyId()))
+                .orElseGet(() -> new ReEncryptionCheckpoint(table, 0L, target));
+        Counter counter = meterRegistry.counter("notifications.encryption.reencrypted", "table", table);
+        String select = "select id, " + String.join(", ", columns) + " from " + table
+                + " where id > ? order by id limit ?";
+
+        for (int i = 0; i < maxChunksPerRun; i++) {
+            List<Map<String, Object>> rows = jdbcTemplate.queryForList(select, checkpoint.getLastId(), chunkSize);
+            if (rows.isEmpty()) {
+                break;
+            }
+
+            long rewritten = 0;
+            for (String column : columns) {
+                List<Object[]> updates = new ArrayList<>();
+                for (Map<String, Object> row : rows) {
+                    Object value = row.get(column);
+                    if (value != null && !EncryptionUtility.isCurrent(value.toString())) {
+                        String old = value.toString();
+                        updates.add(new Object[] { EncryptionUtility.encrypt(EncryptionUtility.decrypt(old)),
+                                row.get("id"), old });
+                    }
+                }
+                if (!updates.isEmpty()) {
+                    jdbcTemplate.batchUpdate("update " + table + " set " + column + " = ? where id = ? and "
+                            + column + " = ?", updates);
+                    rewritten += updates.size();
+                }
+            }
+
+            checkpoint.setLastId(((Number) rows.get(rows.size() - 1).get("id")).longValue());
+            checkpointRepository.save(checkpoint);
+            counter.increment(rewritten);
+
+            if (rows.size() < chunkSize || !pause()) {
+                break;
+            }
+        }
+        log.debug("Re-encryption of {} is at id {} for key {}", table, checkpoint.getLastId(), target);
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(pause.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package RadVeda.NotificationManagement.StorageEncryption;
+
+/**
+ * WHAT IT IS:
+ * The versioned storage formats EncryptionUtility can write. The tag is the
+ * first part of a stored value ("<tag>$<keyId>$<base64>").
+ * 
+ * WHY WE NEED IT:
+ * 1. ECB ("1"): AES/ECB/PKCS5, what Cipher.getInstance("AES") gives. Fast, but
+ * equal plaintexts give equal ciphertexts and there is no integrity check.
+ * 2. GCM ("2"): AES/GCM with a random 96-bit IV per value and a 128-bit tag.
+ * Equal plaintexts no longer look equal, and any tampering fails decryption.
+ * Old values keep their tag, so both formats can be read side by side.
+ */
+public enum StorageFormat {
+    ECB("1"),
+    GCM("2");
+
+    private final String tag;
+
+    StorageFormat(String tag) {
+        this.tag = tag;
+    }
+
+    public String tag() {
+        return tag;
+    }
+
+    static StorageFormat fromTag(String tag) {
+        for (StorageFormat format : values()) {
+            if (format.tag.equals(tag)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unknown storage format: " + tag);
+    }
+}
@@ -0,0 +1,34 @@
+package RadVeda.NotificationManagement.config;
+
+import java.util.concurrent.Executor;
+
+/**
+ * WHAT IT IS:
+ * An executor that belongs to ONE consumer (e.g. the validationExecutor of
+ * NotificationService), published as a bean of this type instead of as an
+ * Executor.
+ *
+ * WHY WE NEED IT:
+ * Spring Boot only creates its `applicationTaskExecutor` when there is no
+ * Executor bean at all (@ConditionalOnMissingBean(Executor.class)). Without it
+ * - Spring MVC runs async requests (the /export StreamingResponseBody) on an
+ *   unbounded SimpleAsyncTaskExecutor;
+ * - spring.threads.virtual.enabled no longer applies to that executor;
+ * - the deferred JPA bootstrap (fast-start profile) has no bootstrap executor.
+ * Wrapping our own executors keeps them out of that lookup.
+ *
+ * Use it where an Executor is expected with a method reference:
+ * `CompletableFuture.runAsync(task, validationExecutor::execute)`.
+ */
+public final class DedicatedExecutor {
+
+    private final Executor executor;
+
+    public DedicatedExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    public void execute(Runnable task) {
+        executor.execute(task);
+    }
+}
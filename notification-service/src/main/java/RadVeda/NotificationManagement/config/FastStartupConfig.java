@@ -0,0 +1,38 @@
+package RadVeda.NotificationManagement.config;
+
+import RadVeda.NotificationManagement.StorageEncryption.ReEncryptionJob;
+import RadVeda.NotificationManagement.consumer.NotificationConsumer;
+import RadVeda.NotificationManagement.retention.ArchiveJob;
+import RadVeda.NotificationManagement.retention.RetentionPurgeJob;
+import RadVeda.NotificationManagement.tracing.ExemplarSpanContextSupplier;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+/**
+ * WHAT IS THE POINT OF THIS FILE:
+ * The beans that must stay eager when the "fast-start" profile (see
+ * application-fast-start.yml) turns on lazy initialization.
+ *
+ * WHY:
+ * A lazy bean is only created when something asks for it. Most of ours are
+ * asked for by the first request, which is fine. Four beans are never asked
+ * for, and their annotations only take effect when they are created:
+ * - NotificationConsumer (@RabbitListener): the queue would never be consumed;
+ * - ArchiveJob, RetentionPurgeJob, ReEncryptionJob (@Scheduled): they would
+ *   never run.
+ * And one has to be created during start-up:
+ * - ExemplarSpanContextSupplier: takes the Tracer when the eager singletons
+ *   are done; created later, it would never get one (no exemplars).
+ * The filter is static: it is read while bean definitions are post-processed,
+ * before this configuration class is instantiated.
+ */
+public class FastStartupConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(NotificationConsumer.class, ArchiveJob.class,
+                RetentionPurgeJob.class, ReEncryptionJob.class, ExemplarSpanContextSupplier.class);
+    }
+}
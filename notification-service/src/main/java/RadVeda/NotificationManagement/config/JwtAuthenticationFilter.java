@@ -2,6 +2,9 @@ package RadVeda.NotificationManagement.config;
 
 import RadVeda.NotificationManagement.NotificationService;
 import RadVeda.NotificationManagement.User;
+import RadVeda.NotificationManagement.exception.DependencyUnavailableException;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -66,6 +69,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 // 4. Set the Authentication in the Context
                 SecurityContextHolder.getContext().setAuthentication(authToken);
             }
+        } catch (CallNotPermittedException | BulkheadFullException | DependencyUnavailableException e) {
+            // user-management is unavailable (breaker open, bulkhead full, timeout, 5xx):
+            // the token could not be checked, which is a 503, not a 401.
+            response.setHeader("Retry-After", "5");
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "User management unavailable");
+            return;
         } catch (Exception e) {
             // If validation fails, we just don't set the authentication.
             // Spring Security will handle the 403/401 later since the context is empty.
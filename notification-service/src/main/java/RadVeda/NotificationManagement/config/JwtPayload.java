@@ -0,0 +1,48 @@
+package RadVeda.NotificationManagement.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.Base64;
+
+/**
+ * WHAT IT IS:
+ * Reads claims out of a JWT's payload WITHOUT verifying it.
+ * 
+ * WHY WE NEED IT:
+ * `authenticate` only needs the role to pick the user-management profile URL;
+ * user-management itself verifies the token. This runs on every authenticated
+ * request, so it lives on its own where the benchmarks can measure it.
+ */
+public final class JwtPayload {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private JwtPayload() {
+    }
+
+    /**
+     * The "role" claim, or null if the token doesn't have three parts or no role.
+     * Throws if the payload is not Base64url JSON.
+     */
+    public static String role(String jwtToken) throws JsonProcessingException {
+        // Logic:
+        // 1. Split the token into its 3 parts (Header, Body, Signature)
+        // 2. Decode the Body (Part 2) using standard Base64.getUrlDecoder()
+        // 3. Parse the JSON using ObjectMapper
+        String[] chunks = jwtToken.split("\\.");
+        if (chunks.length < 3) {
+            return null;
+        }
+
+        String payload = new String(Base64.getUrlDecoder().decode(chunks[1]));
+
+        JsonNode payloadNode = MAPPER.readTree(payload);
+
+        if (!payloadNode.has("role")) {
+            return null;
+        }
+        return payloadNode.get("role").asText();
+    }
+}
@@ -0,0 +1,62 @@
+package RadVeda.NotificationManagement.config;
+
+import RadVeda.NotificationManagement.Notifications.BroadcastNotification;
+import RadVeda.NotificationManagement.Notifications.ChatNotification;
+import RadVeda.NotificationManagement.Notifications.ConsentRequestNotification;
+import RadVeda.NotificationManagement.Notifications.OneWayNotification;
+import RadVeda.NotificationManagement.StorageEncryption.Converters.EncryptedLongConverter;
+import RadVeda.NotificationManagement.StorageEncryption.Converters.EncryptedStringConverter;
+import RadVeda.NotificationManagement.StorageEncryption.Converters.SearchableEncryptedLongConverter;
+import RadVeda.NotificationManagement.StorageEncryption.Converters.SearchableEncryptedStringConverter;
+import RadVeda.NotificationManagement.consumer.NotificationMessage;
+import RadVeda.NotificationManagement.export.ExportLine;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+import java.util.List;
+
+/**
+ * WHAT IS THE POINT OF THIS FILE:
+ * The reflection a GraalVM native image (mvn -Pnative package) can't find by
+ * itself. A native image only keeps the classes, constructors and methods the
+ * build sees being used; anything reached by reflection at runtime must be
+ * declared. Spring AOT already declares most of it: beans, @ConfigurationProperties,
+ * entities, repository methods and controller request/response bodies.
+ * Left for us, because no annotation points to them:
+ *
+ * 1. JSON bound by Jackson outside of controllers (getters/setters/constructors
+ * of the Lombok classes, and the types they contain):
+ * - NotificationMessage: the AMQP payload (Jackson2JsonMessageConverter),
+ *   resolved from the listener parameter or the __TypeId__ header. The binary
+ *   format (NotificationMessageBinaryConverter) uses no reflection.
+ * - the notifications pushed over STOMP (NotificationService) and packed into
+ *   the archive (NotificationArchiveCodec);
+ * - ExportLine: written line by line by NotificationExporter.
+ * 2. The AttributeConverters: Hibernate creates them through their public
+ * constructor.
+ *
+ * Logback (logback-spring.xml, incl. CountingAsyncAppender) and the JDBC
+ * driver, Hikari and Hibernate internals are covered by Spring Boot and the
+ * GraalVM reachability metadata the native profile adds.
+ * Imported by NotificationManagementApplication; only used by the AOT build.
+ */
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+
+    static final List<Class<?>> JSON_TYPES = List.of(NotificationMessage.class, ChatNotification.class,
+            ConsentRequestNotification.class, OneWayNotification.class, BroadcastNotification.class,
+            ExportLine.class);
+
+    static final List<Class<?>> CONVERTERS = List.of(EncryptedStringConverter.class, EncryptedLongConverter.class,
+            SearchableEncryptedStringConverter.class, SearchableEncryptedLongConverter.class);
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                JSON_TYPES.toArray(Class<?>[]::new));
+        for (Class<?> converter : CONVERTERS) {
+            hints.reflection().registerType(converter, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package RadVeda.NotificationManagement.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.util.StringUtils;
+
+@Configuration
+@Profile("prod")
+@Slf4j
+/**
+ * WHAT IS THE POINT OF THIS FILE:
+ * The Hikari pool of the "prod" profile (see application-prod.yml), sized from
+ * the threads that can actually hold a connection at the same time instead of
+ * Hikari's fixed default of 10.
+ *
+ * THE SIZE:
+ *   listener consumers (spring.rabbitmq.listener.simple.max-concurrency, else
+ *   concurrency, default 1): each holds a connection for its whole message
+ * + scheduler threads (spring.task.scheduling.pool.size, default 1): the
+ *   retention, archive and re-encryption jobs
+ * + request threads (server.tomcat.threads.max, default 200) x
+ *   notifications.db.pool.request-share (default 0.1): requests spend most of
+ *   their time on the user-management call and in serialization, not in JDBC,
+ *   so only a share of them needs a connection at any moment.
+ * With the defaults: 1 + 1 + 20 = 22. The pool is fixed (minimum-idle = size):
+ * no connection churn under bursty load.
+ *
+ * An explicit spring.datasource.hikari.maximum-pool-size / minimum-idle still
+ * wins: the properties are bound AFTER this method sets the computed size (e.g.
+ * the virtual-threads profile, where the Tomcat cap no longer applies).
+ * Watch hikaricp_connections_pending and hikaricp_connections_acquire_seconds:
+ * requests waiting for a connection mean the share is too low.
+ */
+public class ProductionDataSourceConfig {
+
+    @Value("${spring.rabbitmq.listener.simple.max-concurrency:${spring.rabbitmq.listener.simple.concurrency:1}}")
+    private int listenerConsumers;
+
+    @Value("${spring.task.scheduling.pool.size:1}")
+    private int schedulerThreads;
+
+    @Value("${server.tomcat.threads.max:200}")
+    private int requestThreads;
+
+    @Value("${notifications.db.pool.request-share:0.1}")
+    private double requestShare;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        if (StringUtils.hasText(properties.getName())) {
+            dataSource.setPoolName(properties.getName());
+        }
+        int size = listenerConsumers + schedulerThreads + (int) Math.ceil(requestThreads * requestShare);
+        dataSource.setMaximumPoolSize(size);
+        dataSource.setMinimumIdle(size);
+        log.info("Computed connection pool size {} ({} listener consumers + {} scheduler threads + {} x {} request"
+                + " threads), unless spring.datasource.hikari sets it", size, listenerConsumers, schedulerThreads,
+                requestShare, requestThreads);
+        return dataSource;
+    }
+}
@@ -1,8 +1,13 @@
 package RadVeda.NotificationManagement.config;
 
+import RadVeda.NotificationManagement.consumer.NotificationMessageBinaryConverter;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.amqp.core.*;
+import org.springframework.amqp.rabbit.config.ContainerCustomizer;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.amqp.support.converter.ContentTypeDelegatingMessageConverter;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -29,16 +34,36 @@ public class RabbitMQConfig {
         return BindingBuilder.bind(queue).to(exchange).with(ROUTING_KEY);
     }
 
-    // Crucial: Use JSON converter so we don't have to serialize Java Objects manually
+    // Crucial: Use JSON converter so we don't have to serialize Java Objects manually.
+    // Built on Spring's ObjectMapper: the converter's own one can't read or write
+    // Instant (NotificationMessage.expiresAt).
+    // Chosen per message by content type: NotificationMessageBinaryConverter.CONTENT_TYPE
+    // gets the compact binary format, anything else stays JSON. Sending stays JSON too
+    // (a new MessageProperties is application/octet-stream), so producers move over
+    // one at a time. Keep it the ONLY MessageConverter bean: with two, Spring Boot
+    // falls back to SimpleMessageConverter for the listeners.
     @Bean
-    public Jackson2JsonMessageConverter converter() {
-        return new Jackson2JsonMessageConverter();
+    public ContentTypeDelegatingMessageConverter converter(ObjectMapper objectMapper) {
+        ContentTypeDelegatingMessageConverter converter = new ContentTypeDelegatingMessageConverter(
+                new Jackson2JsonMessageConverter(objectMapper));
+        converter.addDelegate(NotificationMessageBinaryConverter.CONTENT_TYPE,
+                new NotificationMessageBinaryConverter());
+        return converter;
     }
 
     @Bean
-    public AmqpTemplate template(ConnectionFactory connectionFactory) {
+    public AmqpTemplate template(ConnectionFactory connectionFactory,
+            ContentTypeDelegatingMessageConverter converter) {
         RabbitTemplate rabbitTemplate = new RabbitTemplate(connectionFactory);
-        rabbitTemplate.setMessageConverter(converter());
+        rabbitTemplate.setMessageConverter(converter);
+        // Publishes carry `traceparent` (see TracingConfig)
+        rabbitTemplate.setObservationEnabled(true);
         return rabbitTemplate;
     }
+
+    // Every @RabbitListener continues the trace of the message it receives
+    @Bean
+    public ContainerCustomizer<SimpleMessageListenerContainer> observedListenerContainers() {
+        return container -> container.setObservationEnabled(true);
+    }
 }
@@ -0,0 +1,58 @@
+package RadVeda.NotificationManagement.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.task.SimpleAsyncTaskExecutorBuilder;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+
+@Configuration
+/**
+ * WHAT IS THE POINT OF THIS FILE:
+ * The ONE RestTemplate used for all calls to the other microservices
+ * (authenticate and the is*Valid checks in NotificationService).
+ *
+ * WHY WE NEED IT:
+ * `new RestTemplate()` per call rebuilds all of its message converters every
+ * time. A RestTemplate is thread-safe once built, so one shared instance is
+ * enough for every request thread, platform or virtual.
+ * It has connect/read timeouts (`external-services.connect-timeout` /
+ * `read-timeout`): without them a hung dependency hangs the caller forever,
+ * and the circuit breakers in ExternalServiceClient never see a failure.
+ *
+ * The validationExecutor runs the remote checks of one send concurrently. It
+ * starts a thread per check (a virtual one in the "virtual-threads" profile,
+ * the builder follows spring.threads.virtual.enabled); the concurrency limit
+ * caps how many checks can be in flight at once.
+ * The recipientValidationExecutor runs the (batched or per-id) calls of
+ * RecipientValidationClient. It is separate on purpose: a send waits for its
+ * recipient check on a validationExecutor thread, so the calls that answer it
+ * must not need a slot of the same executor.
+ */
+public class RestClientConfig {
+
+    @Value("${external-services.connect-timeout:PT1S}")
+    private Duration connectTimeout;
+
+    @Value("${external-services.read-timeout:PT2S}")
+    private Duration readTimeout;
+
+    @Bean
+    public RestTemplate restTemplate(RestTemplateBuilder builder) {
+        return builder.setConnectTimeout(connectTimeout).setReadTimeout(readTimeout).build();
+    }
+
+    // Not Executor beans: that would stop Spring Boot from creating applicationTaskExecutor (see DedicatedExecutor)
+    @Bean
+    public DedicatedExecutor validationExecutor(SimpleAsyncTaskExecutorBuilder builder) {
+        return new DedicatedExecutor(builder.threadNamePrefix("validation-").concurrencyLimit(64).build());
+    }
+
+    @Bean
+    public DedicatedExecutor recipientValidationExecutor(SimpleAsyncTaskExecutorBuilder builder) {
+        return new DedicatedExecutor(builder.threadNamePrefix("recipient-validation-").concurrencyLimit(128).build());
+    }
+}
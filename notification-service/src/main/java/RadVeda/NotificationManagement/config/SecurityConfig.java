@@ -1,15 +1,21 @@
 package RadVeda.NotificationManagement.config;
 
+import RadVeda.NotificationManagement.User;
 import lombok.RequiredArgsConstructor;
+import jakarta.servlet.DispatcherType;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.security.config.http.SessionCreationPolicy;
 
+import java.util.Set;
+
 @Configuration
 @EnableWebSecurity
 @RequiredArgsConstructor
@@ -22,10 +28,14 @@ import org.springframework.security.config.http.SessionCreationPolicy;
  * 1. "Don't use sessions (Cookies)" -> use Stateless (JWT).
  * 2. "Don't enable CSRF" -> because we are an API, not a browser form app.
  * 3. "Use my Custom Filter" -> JwtAuthenticationFilter.
- * 4. "Protect Everything" -> .anyRequest().authenticated().
+ * 4. "Protect Everything" -> .anyRequest().authenticated(), except the
+ * actuator health and prometheus endpoints (probes and metrics scraping).
+ * The `queries` endpoint (query texts and timings) is for ADMIN/SUPERADMIN only.
  */
 public class SecurityConfig {
 
+    private static final Set<String> OPERATORS = Set.of("ADMIN", "SUPERADMIN");
+
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
 
     @Bean
@@ -33,6 +43,13 @@ public class SecurityConfig {
         http
                 .csrf(csrf -> csrf.disable()) // Disable CSRF for stateless APIs
                 .authorizeHttpRequests(auth -> auth
+                        // Async (streamed) responses were authorised on the original request
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                        // Probes and the Prometheus scraper carry no JWT
+                        .requestMatchers(EndpointRequest.to("health", "prometheus")).permitAll()
+                        .requestMatchers(EndpointRequest.to("queries")).access((authentication, context) ->
+                                new AuthorizationDecision(authentication.get().getPrincipal() instanceof User user
+                                        && OPERATORS.contains(user.getType())))
                         .anyRequest().authenticated() // Protect ALL endpoints
                 )
                 .sessionManagement(session -> session
@@ -0,0 +1,52 @@
+package RadVeda.NotificationManagement.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.task.SimpleAsyncTaskExecutorBuilder;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+/**
+ * WHAT IS THE POINT OF THIS FILE:
+ * Declares `applicationTaskExecutor` the way Spring Boot would, because Boot
+ * never does here.
+ *
+ * WHY WE NEED IT:
+ * Boot only creates it when there is no Executor bean at all, and
+ * @EnableWebSocketMessageBroker (WebSocketConfig) registers three of them
+ * (clientInboundChannelExecutor, clientOutboundChannelExecutor,
+ * brokerChannelExecutor). Without it:
+ * - Spring MVC runs async requests (the /export StreamingResponseBody) on an
+ *   unbounded SimpleAsyncTaskExecutor ("not suitable for production");
+ * - the deferred JPA bootstrap (fast-start profile) has no bootstrap executor.
+ * Our own executors are DedicatedExecutor beans for the same reason.
+ *
+ * HOW IT WORKS:
+ * Same two beans as Boot's TaskExecutorConfiguration: a thread per task
+ * (virtual) with spring.threads.virtual.enabled, otherwise the pool of
+ * spring.task.execution.pool.*.
+ */
+public class TaskExecutionConfig {
+
+    @Bean(name = { TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+            AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME })
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public SimpleAsyncTaskExecutor applicationTaskExecutorVirtualThreads(SimpleAsyncTaskExecutorBuilder builder) {
+        return builder.build();
+    }
+
+    @Lazy
+    @Bean(name = { TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+            AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME })
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ThreadPoolTaskExecutor applicationTaskExecutor(ThreadPoolTaskExecutorBuilder builder) {
+        return builder.build();
+    }
+}
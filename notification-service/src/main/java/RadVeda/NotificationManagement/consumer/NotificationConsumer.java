@@ -1,37 +1,80 @@
 package RadVeda.NotificationManagement.consumer;
 
 import RadVeda.NotificationManagement.NotificationService;
+import RadVeda.NotificationManagement.logging.EventLogSampler;
+import RadVeda.NotificationManagement.metrics.PipelineMetrics;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.slf4j.spi.LoggingEventBuilder;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Component;
 import RadVeda.NotificationManagement.consumer.NotificationMessage;
 
+import java.util.Date;
+
 @Component
 @Slf4j
 @RequiredArgsConstructor
 public class NotificationConsumer {
 
     private final NotificationService notificationService;
+    private final PipelineMetrics pipelineMetrics;
+    private final EventLogSampler eventLogSampler;
 
     // Listen to the queue defined in Config
     @RabbitListener(queues = "notification_queue")
-    public void receiveMessage(NotificationMessage message) {
-        log.info("Received event: {}", message);
-
-        // Switch based on type (Cheap way to handle polymorphism in JSON)
-        switch (message.getType()) {
-            case "CHAT":
-                notificationService.processChatEvent(message);
-                break;
-            case "CONSENT":
-                notificationService.processConsentEvent(message);
-                break;
-            case "ONE_WAY":
-                notificationService.processOneWayEvent(message);
-                break;
-            default:
-                log.warn("Unknown message type: {}", message.getType());
+    public void receiveMessage(NotificationMessage message,
+            @Header(name = AmqpHeaders.TIMESTAMP, required = false) Date publishedAt) {
+        if (log.isDebugEnabled()) {
+            logReceived(log.atDebug(), message, publishedAt);
+        } else if (eventLogSampler.sample()) {
+            logReceived(log.atInfo().addKeyValue("sampled", "1/" + eventLogSampler.sampleEvery()), message,
+                    publishedAt);
+        }
+
+        if (publishedAt != null) {
+            pipelineMetrics.recordQueueLag(message.getType(), publishedAt.toInstant());
         }
+        Timer.Sample sample = pipelineMetrics.startConsume();
+        String outcome = "success";
+
+        try {
+            // Switch based on type (Cheap way to handle polymorphism in JSON)
+            switch (message.getType()) {
+                case "CHAT":
+                    notificationService.processChatEvent(message);
+                    break;
+                case "CONSENT":
+                    notificationService.processConsentEvent(message);
+                    break;
+                case "ONE_WAY":
+                    notificationService.processOneWayEvent(message);
+                    break;
+                case "BROADCAST":
+                    notificationService.processBroadcastEvent(message);
+                    break;
+                default:
+                    outcome = "unknown_type";
+                    log.atWarn().addKeyValue("type", message.getType()).log("Unknown message type");
+            }
+        } catch (RuntimeException e) {
+            outcome = "error";
+            throw e;
+        } finally {
+            pipelineMetrics.stopConsume(sample, message.getType(), outcome);
+        }
+    }
+
+    // Key fields only: the body is patient content and never goes to the logs.
+    private static void logReceived(LoggingEventBuilder event, NotificationMessage message, Date publishedAt) {
+        event.addKeyValue("type", message.getType())
+                .addKeyValue("recipientType", message.getRecipientType())
+                .addKeyValue("recipientId", message.getRecipientId())
+                .addKeyValue("bodyChars", message.getBody() == null ? 0 : message.getBody().length())
+                .addKeyValue("publishedAt", publishedAt == null ? null : publishedAt.toInstant())
+                .log("Received event");
     }
 }
@@ -3,12 +3,18 @@ package RadVeda.NotificationManagement.consumer;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
+import lombok.ToString;
+
+import java.time.Instant;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class NotificationMessage {
-    private String type; // "CHAT", "CONSENT", "ONE_WAY"
+    private String type; // "CHAT", "CONSENT", "ONE_WAY", "BROADCAST"
+    @ToString.Exclude // patient content: keep it out of logs and exception messages
     private String body; // The actual content
     private Long recipientId; // Who gets it
+    private String recipientType; // Only used by "BROADCAST": the role that gets it
+    private Instant expiresAt; // Optional: when the notification may be purged
 }
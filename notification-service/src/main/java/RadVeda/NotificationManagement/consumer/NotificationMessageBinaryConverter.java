@@ -0,0 +1,216 @@
+package RadVeda.NotificationManagement.consumer;
+
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * WHAT IT IS:
+ * A compact binary wire format for NotificationMessage, for content type
+ * `application/x-notification-message-v1`. RabbitMQConfig picks it by the
+ * content type of each message, so JSON producers keep working while others
+ * switch over.
+ *
+ * WHY WE NEED IT:
+ * JSON repeats every field name in every message and is parsed as text, then
+ * bound by reflection. This format writes the fields in a fixed order with a
+ * hand-written encoder/decoder: no field names, no type header, no reflection
+ * (nothing for NativeRuntimeHints to cover either).
+ *
+ * THE FORMAT (version 1):
+ * byte      version = 1
+ * byte      flags: which of the optional fields follow (see the FIELD_ constants)
+ * byte      type: index in TYPES + 1, or 0 followed by the type as a string
+ * string    body             (if present)
+ * varlong   recipientId      (if present; zigzag, so negative ids stay short)
+ * string    recipientType    (if present)
+ * varlong   expiresAt seconds, varint nanos 0..999_999_999 (if present)
+ * A string is a varint byte length followed by UTF-8. A message with another
+ * version, unknown flags or trailing bytes is rejected (MessageConversionException:
+ * not requeued) instead of being half read.
+ */
+public class NotificationMessageBinaryConverter implements MessageConverter {
+
+    public static final String CONTENT_TYPE = "application/x-notification-message-v1";
+
+    private static final byte VERSION = 1;
+
+    // The known types decode to these very String instances: nothing to allocate, cheap switch in the consumer
+    private static final List<String> TYPES = List.of("CHAT", "CONSENT", "ONE_WAY", "BROADCAST");
+
+    private static final int FIELD_TYPE = 1;
+    private static final int FIELD_BODY = 1 << 1;
+    private static final int FIELD_RECIPIENT_ID = 1 << 2;
+    private static final int FIELD_RECIPIENT_TYPE = 1 << 3;
+    private static final int FIELD_EXPIRES_AT = 1 << 4;
+    private static final int ALL_FIELDS = (1 << 5) - 1;
+
+    @Override
+    public Message toMessage(Object object, MessageProperties messageProperties) {
+        if (!(object instanceof NotificationMessage message)) {
+            throw new MessageConversionException("Error encoding " + (object == null ? null : object.getClass())
+                    + ": only NotificationMessage has a binary format");
+        }
+        byte[] body = encode(message);
+        messageProperties.setContentType(CONTENT_TYPE);
+        messageProperties.setContentLength(body.length);
+        return new Message(body, messageProperties);
+    }
+
+    @Override
+    public NotificationMessage fromMessage(Message message) {
+        try {
+            return decode(ByteBuffer.wrap(message.getBody()));
+        } catch (RuntimeException e) {
+            // any of them (underflow, bad index, out-of-range Instant...) means the body is not ours to read
+            throw new MessageConversionException("Error decoding binary NotificationMessage", e);
+        }
+    }
+
+    private static byte[] encode(NotificationMessage message) {
+        byte[] type = null;
+        byte[] body = utf8(message.getBody());
+        byte[] recipientType = utf8(message.getRecipientType());
+        int typeIndex = message.getType() == null ? -1 : TYPES.indexOf(message.getType());
+        if (typeIndex < 0 && message.getType() != null) {
+            type = utf8(message.getType());
+        }
+
+        int flags = (message.getType() != null ? FIELD_TYPE : 0)
+                | (body != null ? FIELD_BODY : 0)
+                | (message.getRecipientId() != null ? FIELD_RECIPIENT_ID : 0)
+                | (recipientType != null ? FIELD_RECIPIENT_TYPE : 0)
+                | (message.getExpiresAt() != null ? FIELD_EXPIRES_AT : 0);
+
+        // upper bound: 3 header bytes, 5 per length, 10 per varlong
+        Writer out = new Writer(3 + length(type) + length(body) + length(recipientType) + 10 + 15);
+        out.buffer[out.position++] = VERSION;
+        out.buffer[out.position++] = (byte) flags;
+        out.buffer[out.position++] = (byte) (typeIndex + 1);
+        if (type != null) {
+            out.writeBytes(type);
+        }
+        if (body != null) {
+            out.writeBytes(body);
+        }
+        if (message.getRecipientId() != null) {
+            out.writeVarLong(zigzag(message.getRecipientId()));
+        }
+        if (recipientType != null) {
+            out.writeBytes(recipientType);
+        }
+        if (message.getExpiresAt() != null) {
+            out.writeVarLong(zigzag(message.getExpiresAt().getEpochSecond()));
+            out.writeVarLong(message.getExpiresAt().getNano());
+        }
+        return Arrays.copyOf(out.buffer, out.position);
+    }
+
+    private static NotificationMessage decode(ByteBuffer in) {
+        byte version = in.get();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unknown version " + version);
+        }
+        int flags = Byte.toUnsignedInt(in.get());
+        if ((flags & ~ALL_FIELDS) != 0) {
+            throw new IllegalArgumentException("Unknown fields " + Integer.toBinaryString(flags));
+        }
+        int typeCode = Byte.toUnsignedInt(in.get());
+
+        NotificationMessage message = new NotificationMessage();
+        if ((flags & FIELD_TYPE) != 0) {
+            message.setType(typeCode == 0 ? readString(in) : TYPES.get(typeCode - 1));
+        }
+        if ((flags & FIELD_BODY) != 0) {
+            message.setBody(readString(in));
+        }
+        if ((flags & FIELD_RECIPIENT_ID) != 0) {
+            message.setRecipientId(unzigzag(readVarLong(in)));
+        }
+        if ((flags & FIELD_RECIPIENT_TYPE) != 0) {
+            message.setRecipientType(readString(in));
+        }
+        if ((flags & FIELD_EXPIRES_AT) != 0) {
+            long seconds = unzigzag(readVarLong(in));
+            long nanos = readVarLong(in);
+            if (nanos < 0 || nanos > 999_999_999) {
+                throw new IllegalArgumentException("Nanos out of range: " + nanos);
+            }
+            message.setExpiresAt(Instant.ofEpochSecond(seconds, nanos));
+        }
+        if (in.hasRemaining()) {
+            throw new IllegalArgumentException(in.remaining() + " trailing bytes");
+        }
+        return message;
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int length(byte[] bytes) {
+        return bytes == null ? 0 : 5 + bytes.length;
+    }
+
+    private static String readString(ByteBuffer in) {
+        long length = readVarLong(in);
+        if (length > in.remaining()) {
+            throw new IllegalArgumentException("String of " + length + " bytes, " + in.remaining() + " left");
+        }
+        String value = new String(in.array(), in.arrayOffset() + in.position(), (int) length,
+                StandardCharsets.UTF_8);
+        in.position(in.position() + (int) length);
+        return value;
+    }
+
+    private static long readVarLong(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Varint longer than 10 bytes");
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static final class Writer {
+
+        private final byte[] buffer;
+        private int position;
+
+        private Writer(int capacity) {
+            buffer = new byte[capacity];
+        }
+
+        private void writeBytes(byte[] bytes) {
+            writeVarLong(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        private void writeVarLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package RadVeda.NotificationManagement.exception;
+
+/**
+ * WHAT IS THE POINT OF THIS FILE:
+ * Custom Exception for a remote check that failed without an answer (I/O
+ * error, 5xx, unreadable body).
+ * WHY WE NEED IT:
+ * Mapped to HTTP 503 (Service Unavailable) in GlobalExceptionHandler, like an
+ * open circuit breaker: the dependency is down, which says nothing about
+ * whether the request is valid, so it must not become a 400.
+ */
+public class DependencyUnavailableException extends RuntimeException {
+    public DependencyUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
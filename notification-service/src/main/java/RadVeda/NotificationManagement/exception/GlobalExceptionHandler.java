@@ -1,5 +1,7 @@
 package RadVeda.NotificationManagement.exception;
 
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -71,4 +73,27 @@ public class GlobalExceptionHandler {
                 ex.getMessage());
         return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
     }
+
+    @ExceptionHandler(ValidationTimeoutException.class)
+    public ResponseEntity<ErrorResponse> handleValidationTimeoutException(ValidationTimeoutException ex) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.GATEWAY_TIMEOUT.value(),
+                HttpStatus.GATEWAY_TIMEOUT.getReasonPhrase(),
+                ex.getMessage());
+        return new ResponseEntity<>(errorResponse, HttpStatus.GATEWAY_TIMEOUT);
+    }
+
+    // A dependency is unavailable (circuit breaker open or bulkhead full, see ExternalServiceClient),
+    // or failed without an answer.
+    @ExceptionHandler({ CallNotPermittedException.class, BulkheadFullException.class,
+            DependencyUnavailableException.class })
+    public ResponseEntity<ErrorResponse> handleDependencyUnavailable(RuntimeException ex) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase(),
+                ex.getMessage());
+        return new ResponseEntity<>(errorResponse, HttpStatus.SERVICE_UNAVAILABLE);
+    }
 }
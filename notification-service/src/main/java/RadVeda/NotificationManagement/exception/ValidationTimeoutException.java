@@ -0,0 +1,14 @@
+package RadVeda.NotificationManagement.exception;
+
+/**
+ * WHAT IS THE POINT OF THIS FILE:
+ * Custom Exception for validations that didn't answer before their deadline.
+ * WHY WE NEED IT:
+ * Mapped to HTTP 504 (Gateway Timeout) in GlobalExceptionHandler: we couldn't
+ * tell whether the request is valid, so we neither accept nor reject it.
+ */
+public class ValidationTimeoutException extends RuntimeException {
+    public ValidationTimeoutException(String message) {
+        super(message);
+    }
+}
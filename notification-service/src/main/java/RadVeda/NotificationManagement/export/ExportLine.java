@@ -0,0 +1,17 @@
+package RadVeda.NotificationManagement.export;
+
+/**
+ * WHAT IT IS:
+ * One line of an NDJSON export.
+ * 
+ * WHY WE NEED IT:
+ * The export mixes every notification type, hot and archived, in one stream.
+ * 'type' uses the NotificationMessage names ("CHAT", "CONSENT", "ONE_WAY"),
+ * 'archived' tells whether the row came from the archive table, and
+ * 'notification' is the entity exactly as the getAll* endpoints return it.
+ */
+public record ExportLine(
+        String type,
+        boolean archived,
+        Object notification) {
+}
@@ -0,0 +1,182 @@
+package RadVeda.NotificationManagement.external;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * WHAT IS THE POINT OF THIS FILE:
+ * The only way NotificationService talks to the other microservices. Every call
+ * goes through a circuit breaker and a bulkhead of its own dependency.
+ * 
+ * WHY WE NEED IT:
+ * A slow user-management used to hang every request thread inside
+ * `authenticate` (no timeouts), taking down even plain notification reads.
+ * Now (see `resilience4j` in application.yml):
+ * 1. RestTemplate timeouts bound each call (RestClientConfig).
+ * 2. Bulkhead: at most N concurrent calls per dependency; extra callers fail
+ * immediately instead of queueing up behind a slow service.
+ * 3. Circuit breaker: after too many failures/slow calls the dependency is
+ * skipped altogether (OPEN); after a wait a few probe calls are let through
+ * (HALF_OPEN) and decide whether it closes again. 4xx answers are the
+ * service working correctly and don't count as failures.
+ * 4. Cached fallback (getWithFallback): where an earlier POSITIVE answer is
+ * still trustworthy (a token's profile, a recipient or chat that exists), the
+ * last successful body is served while the dependency is unavailable.
+ * Consent checks never use it: consent can be revoked at any time. A token's
+ * profile is served for a shorter time (fallback-cache.auth-ttl): the token
+ * may have been revoked since.
+ * Breaker and bulkhead states are published as Micrometer metrics
+ * (resilience4j_circuitbreaker_state, resilience4j_bulkhead_available_concurrent_calls, ...),
+ * the latency of every call as notifications.external.call{dependency,outcome}
+ * (outcome "rejected" = never sent: breaker open or bulkhead full).
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ExternalServiceClient {
+
+    public enum Dependency {
+        USER_MANAGEMENT("user-management"),
+        COLLABORATION("collaboration"),
+        CONSENT("consent");
+
+        private final String id;
+
+        Dependency(String id) {
+            this.id = id;
+        }
+    }
+
+    private final RestTemplate restTemplate;
+    private final CircuitBreakerRegistry circuitBreakers;
+    private final BulkheadRegistry bulkheads;
+    private final MeterRegistry meterRegistry;
+
+    private final ConcurrentHashMap<String, CachedBody> fallbackCache = new ConcurrentHashMap<>();
+
+    @Value("${external-services.fallback-cache.ttl:PT5M}")
+    private Duration fallbackTtl;
+
+    @Value("${external-services.fallback-cache.max-entries:10000}")
+    private int fallbackMaxEntries;
+
+    /** GET `url` with the caller's JWT, protected by the dependency's breaker and bulkhead. */
+    public ResponseEntity<String> get(Dependency dependency, String url, String jwtToken) {
+        return exchange(dependency, HttpMethod.GET, url, jwtToken, null);
+    }
+
+    /** POST a JSON body (same protection as get()). */
+    public ResponseEntity<String> postJson(Dependency dependency, String url, String jwtToken, String json) {
+        return exchange(dependency, HttpMethod.POST, url, jwtToken, json);
+    }
+
+    private ResponseEntity<String> exchange(Dependency dependency, HttpMethod method, String url, String jwtToken,
+            String json) {
+        CircuitBreaker circuitBreaker = circuitBreakers.circuitBreaker(dependency.id);
+        Bulkhead bulkhead = bulkheads.bulkhead(dependency.id);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("Authorization", "Bearer " + jwtToken);
+        if (json != null) {
+            headers.setContentType(MediaType.APPLICATION_JSON);
+        }
+        Supplier<ResponseEntity<String>> call = () -> restTemplate.exchange(url, method,
+                new HttpEntity<>(json, headers), String.class);
+
+        long start = System.nanoTime();
+        String outcome = "success";
+        try {
+            return circuitBreaker.executeSupplier(Bulkhead.decorateSupplier(bulkhead, call));
+        } catch (CallNotPermittedException | BulkheadFullException e) {
+            outcome = "rejected";
+            throw e;
+        } catch (HttpClientErrorException e) {
+            outcome = "client_error";
+            throw e;
+        } catch (HttpServerErrorException e) {
+            outcome = "server_error";
+            throw e;
+        } catch (ResourceAccessException e) {
+            outcome = "io_error";
+            throw e;
+        } catch (RuntimeException e) {
+            outcome = "error";
+            throw e;
+        } finally {
+            meterRegistry.timer("notifications.external.call", "dependency", dependency.id, "outcome", outcome)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Like get(), but remembers successful answers under `cacheKey` and serves the
+     * last one (for up to the fallback TTL) when the dependency is unavailable:
+     * breaker open, bulkhead full, timeout / connection error or 5xx.
+     */
+    public ResponseEntity<String> getWithFallback(Dependency dependency, String url, String jwtToken,
+            String cacheKey) {
+        return getWithFallback(dependency, url, jwtToken, cacheKey, fallbackTtl);
+    }
+
+    /**
+     * Same, but a cached answer older than `maxAge` is not served (for answers
+     * that go stale sooner than the fallback TTL, e.g. a token's profile).
+     */
+    public ResponseEntity<String> getWithFallback(Dependency dependency, String url, String jwtToken,
+            String cacheKey, Duration maxAge) {
+        try {
+            ResponseEntity<String> response = get(dependency, url, jwtToken);
+            if (response.getStatusCode().is2xxSuccessful()) {
+                remember(cacheKey, response.getBody());
+            }
+            return response;
+        } catch (CallNotPermittedException | BulkheadFullException | ResourceAccessException
+                | HttpServerErrorException e) {
+            CachedBody cached = fallbackCache.get(cacheKey);
+            if (cached != null && System.nanoTime() - cached.storedAt < maxAge.toNanos()) {
+                log.debug("{} unavailable ({}), serving cached answer", dependency.id, e.getClass().getSimpleName());
+                return ResponseEntity.ok(cached.body);
+            }
+            throw e;
+        }
+    }
+
+    private void remember(String cacheKey, String body) {
+        if (fallbackCache.size() >= fallbackMaxEntries) {
+            // Cheap bound: drop what expired; if that's not enough, start over.
+            long ttl = fallbackTtl.toNanos();
+            long now = System.nanoTime();
+            fallbackCache.values().removeIf(c -> now - c.storedAt >= ttl);
+            if (fallbackCache.size() >= fallbackMaxEntries) {
+                fallbackCache.clear();
+            }
+        }
+        fallbackCache.put(cacheKey, new CachedBody(body, System.nanoTime()));
+    }
+
+    private record CachedBody(String body, long storedAt) {
+    }
+}
@@ -0,0 +1,286 @@
+package RadVeda.NotificationManagement.external;
+
+import RadVeda.NotificationManagement.config.DedicatedExecutor;
+import RadVeda.NotificationManagement.external.ExternalServiceClient.Dependency;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WHAT IT IS:
+ * The client that asks user-management whether recipients exist, for one id or
+ * for hundreds (bulk sends, broadcasts).
+ *
+ * WHY WE NEED IT:
+ * Validating one id per HTTP call makes a send to N recipients cost N round
+ * trips, and N concurrent senders each pay their own.
+ *
+ * HOW IT WORKS (dataloader style):
+ * 1. validate() doesn't call anything: it parks the id in the pending batch of
+ * its (recipient type, token) and returns a future. The first id of a batch
+ * schedules a flush `window` later (a couple of milliseconds); a batch that
+ * reaches `max-size` is flushed right away. Duplicate ids share one lookup.
+ * 2. A flushed batch is sent as ONE call to the batch endpoint
+ * (POST <user-management>/<collection><path>, body: JSON array of ids, answer:
+ * JSON object id -> true/false). Ids missing from the answer count as invalid.
+ * 3. Per-id fallback: if no batch `path` is configured, or the upstream answers
+ * 404/405/501 (it doesn't have the endpoint), the batch is resolved with the
+ * classic single-id calls, concurrently on the recipientValidationExecutor. An
+ * "unsupported" answer is remembered for `retry-unsupported-after`.
+ * 4. Batches are per token because the upstream authorises each call with the
+ * caller's JWT; ids of one bulk send (and of concurrent requests of the same
+ * user) still end up in the same call.
+ * All calls go through ExternalServiceClient, so the user-management breaker
+ * and bulkhead (user-039) apply to batched and single calls alike.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class RecipientValidationClient {
+
+    // recipientType -> [collection, single-id validation path]
+    private static final Map<String, String[]> PATHS = Map.of(
+            "ADMIN", new String[] { "admins", "validateAdminId" },
+            "DOCTOR", new String[] { "doctors", "validateDoctorId" },
+            "LABSTAFF", new String[] { "labstaffs", "validateLabStaffId" },
+            "PATIENT", new String[] { "patients", "validatePatientId" },
+            "RADIOLOGIST", new String[] { "radiologists", "validateRadiologistId" },
+            "SUPERADMIN", new String[] { "superadmins", "validateSuperAdminId" });
+
+    private final ExternalServiceClient externalServices;
+    private final ObjectMapper objectMapper;
+
+    @Qualifier("recipientValidationExecutor")
+    private final DedicatedExecutor batchExecutor;
+
+    private final ConcurrentHashMap<BatchKey, Batch> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "recipient-batch-flusher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile boolean batchUnsupported;
+    private volatile long batchRetryAt;
+
+    @Value("${external-services.user-management.url}")
+    private String userManagementUrl;
+
+    @Value("${external-services.user-management.batch-validation.path:}")
+    private String batchPath;
+
+    @Value("${external-services.user-management.batch-validation.window:PT0.002S}")
+    private Duration window;
+
+    @Value("${external-services.user-management.batch-validation.max-size:100}")
+    private int maxBatchSize;
+
+    @Value("${external-services.user-management.batch-validation.retry-unsupported-after:PT10M}")
+    private Duration retryUnsupportedAfter;
+
+    /** Whether recipient `recipientId` of `recipientType` exists. Completes when its batch is resolved. */
+    public CompletableFuture<Boolean> validate(String recipientType, Long recipientId, String jwtToken) {
+        if (recipientId == null || !PATHS.containsKey(recipientType)) {
+            return CompletableFuture.completedFuture(false);
+        }
+
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        BatchKey key = new BatchKey(recipientType, jwtToken);
+        Batch[] full = new Batch[1];
+
+        pending.compute(key, (k, batch) -> {
+            if (batch == null) {
+                Batch created = new Batch();
+                flusher.schedule(() -> flushIfPending(k, created), window.toNanos(), TimeUnit.NANOSECONDS);
+                batch = created;
+            }
+            batch.waiters.computeIfAbsent(recipientId, id -> new ArrayList<>(1)).add(result);
+            if (batch.waiters.size() >= maxBatchSize) {
+                full[0] = batch;
+                return null;
+            }
+            return batch;
+        });
+
+        if (full[0] != null) {
+            Batch batch = full[0];
+            flusher.execute(() -> dispatch(key, batch));
+        }
+        return result;
+    }
+
+    /**
+     * Validates many ids of one recipient type (duplicates allowed) and waits for
+     * all of them. They are coalesced into as few calls as `max-size` allows.
+     */
+    public Map<Long, Boolean> validateAll(String recipientType, Collection<Long> recipientIds, String jwtToken) {
+        Map<Long, CompletableFuture<Boolean>> futures = new LinkedHashMap<>();
+        for (Long recipientId : recipientIds) {
+            futures.computeIfAbsent(recipientId, id -> validate(recipientType, id, jwtToken));
+        }
+        Map<Long, Boolean> results = new LinkedHashMap<>();
+        futures.forEach((id, future) -> results.put(id, join(future)));
+        return results;
+    }
+
+    /** CompletableFuture.join, minus the CompletionException wrapper around the real failure. */
+    public static boolean join(CompletableFuture<Boolean> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flusher.shutdownNow();
+    }
+
+    private void flushIfPending(BatchKey key, Batch batch) {
+        // false if the batch already left because it was full
+        if (pending.remove(key, batch)) {
+            dispatch(key, batch);
+        }
+    }
+
+    /*
+     * Runs on the flusher thread. Every task handed to the executor is a LEAF (one
+     * HTTP call that never waits for another task), so the executor's concurrency
+     * limit can delay calls but never deadlock them.
+     */
+    private void dispatch(BatchKey key, Batch batch) {
+        if (batch.waiters.size() > 1 && batchSupported()) {
+            submit(batch, () -> resolveBatch(key, batch));
+        } else {
+            fanOut(key, batch);
+        }
+    }
+
+    private void resolveBatch(BatchKey key, Batch batch) {
+        try {
+            Map<Long, Boolean> results = callBatch(key, batch.waiters.keySet());
+            if (results == null) {
+                flusher.execute(() -> fanOut(key, batch));
+                return;
+            }
+            batch.waiters.forEach((id, waiters) -> complete(waiters, results.getOrDefault(id, false)));
+        } catch (HttpClientErrorException.Forbidden e) {
+            batch.waiters.values().forEach(waiters -> complete(waiters, false));
+        } catch (RuntimeException e) {
+            batch.completeExceptionally(e);
+        }
+    }
+
+    /** Per-id fallback: the classic single-id calls, concurrently. */
+    private void fanOut(BatchKey key, Batch batch) {
+        batch.waiters.forEach((id, waiters) -> submit(batch, () -> {
+            try {
+                complete(waiters, validateOne(key, id));
+            } catch (RuntimeException e) {
+                waiters.forEach(w -> w.completeExceptionally(e));
+            }
+        }));
+    }
+
+    private void submit(Batch batch, Runnable task) {
+        try {
+            batchExecutor.execute(task);
+        } catch (RuntimeException e) {
+            // executor refused the task (shutting down): fail the waiters, don't strand them
+            batch.completeExceptionally(e);
+        }
+    }
+
+    /** One call for the whole batch; null if the upstream has no batch endpoint. */
+    private Map<Long, Boolean> callBatch(BatchKey key, Collection<Long> ids) {
+        String url = userManagementUrl + "/" + PATHS.get(key.recipientType)[0] + batchPath;
+        ResponseEntity<String> response;
+        try {
+            response = externalServices.postJson(Dependency.USER_MANAGEMENT, url, key.jwtToken,
+                    objectMapper.writeValueAsString(ids));
+        } catch (HttpClientErrorException.NotFound | HttpClientErrorException.MethodNotAllowed
+                | HttpServerErrorException.NotImplemented e) {
+            // RestTemplate throws for a 501 too: the user-management breaker ignores it (application.yml)
+            markBatchUnsupported(e.getStatusCode().value());
+            return null;
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Error writing recipient ids", e);
+        }
+
+        Map<Long, Boolean> results = new LinkedHashMap<>();
+        try {
+            JsonNode body = objectMapper.readTree(response.getBody());
+            body.fields().forEachRemaining(e -> results.put(Long.valueOf(e.getKey()), e.getValue().asBoolean()));
+        } catch (JsonProcessingException | NumberFormatException e) {
+            throw new RuntimeException("Error reading batch validation response", e);
+        }
+        return results;
+    }
+
+    private boolean validateOne(BatchKey key, Long recipientId) {
+        String[] path = PATHS.get(key.recipientType);
+        String url = userManagementUrl + "/" + path[0] + "/" + path[1] + "/" + recipientId;
+        try {
+            // Whether a user exists doesn't depend on who asks, so the cache key is the URL.
+            ResponseEntity<String> response = externalServices.getWithFallback(Dependency.USER_MANAGEMENT, url,
+                    key.jwtToken, url);
+            return response.getStatusCode() == HttpStatus.OK && Boolean.parseBoolean(response.getBody());
+        } catch (HttpClientErrorException.Forbidden e) {
+            return false;
+        }
+    }
+
+    private boolean batchSupported() {
+        return !batchPath.isEmpty() && (!batchUnsupported || System.nanoTime() - batchRetryAt >= 0);
+    }
+
+    private void markBatchUnsupported(int status) {
+        log.info("user-management answered {} to batch validation, validating per id for {}", status,
+                retryUnsupportedAfter);
+        batchRetryAt = System.nanoTime() + retryUnsupportedAfter.toNanos();
+        batchUnsupported = true;
+    }
+
+    private static void complete(List<CompletableFuture<Boolean>> waiters, boolean valid) {
+        waiters.forEach(w -> w.complete(valid));
+    }
+
+    private record BatchKey(String recipientType, String jwtToken) {
+    }
+
+    /** Ids waiting for the same call. Only mutated inside pending.compute, read after removal. */
+    private static final class Batch {
+        private final Map<Long, List<CompletableFuture<Boolean>>> waiters = new LinkedHashMap<>();
+
+        private void completeExceptionally(Throwable failure) {
+            waiters.values().forEach(list -> list.forEach(w -> w.completeExceptionally(failure)));
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package RadVeda.NotificationManagement.inbox;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * WHAT IS THE POINT OF THIS FILE:
+ * A version number per recipient (and per role, for broadcasts) that changes
+ * whenever something in that inbox changes. The list endpoints turn it into a
+ * strong ETag.
+ * 
+ * WHY WE NEED IT:
+ * Mobile clients poll the inbox every few seconds and it has usually not
+ * changed. With `If-None-Match` the controller compares the client's ETag with
+ * the current one and answers 304 BEFORE any query, decrypt or JSON work.
+ * 
+ * HOW IT STAYS CORRECT:
+ * 1. Every write path (insert, read, delete, mark-all, delete-all) calls
+ * bump(); broadcasts call bumpRole(); the retention/archive jobs call
+ * bumpAll(), since they change many inboxes at once.
+ * 2. The ETag is read BEFORE the DB, so a write racing with a request can only
+ * make the next poll miss, never serve stale data under a new tag.
+ * 3. `instance` is random per process: versions start again at 0 after a
+ * restart and must not match tags handed out by the previous process (or by
+ * another replica).
+ * 4. Writes handled by ANOTHER replica don't bump our counters, so the ETag also
+ * contains the current `notifications.inbox.etag-max-age` window: a change
+ * made elsewhere is picked up after at most that long.
+ */
+@Component
+public class InboxVersionTracker {
+
+    private final String instance = UUID.randomUUID().toString().substring(0, 8);
+    private final AtomicLong generation = new AtomicLong();
+    private final ConcurrentHashMap<String, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    @Value("${notifications.inbox.etag-max-age:PT30S}")
+    private Duration maxAge;
+
+    public void bump(String recipientType, Long recipientId) {
+        versions.computeIfAbsent(recipientType + "|" + recipientId, k -> new AtomicLong()).incrementAndGet();
+    }
+
+    public void bumpRole(String recipientType) {
+        versions.computeIfAbsent(recipientType, k -> new AtomicLong()).incrementAndGet();
+    }
+
+    public void bumpAll() {
+        generation.incrementAndGet();
+    }
+
+    public String etag(String recipientType, Long recipientId) {
+        long window = System.currentTimeMillis() / Math.max(1, maxAge.toMillis());
+        return instance + "-" + generation.get() + "-" + window + "-"
+                + version(recipientType + "|" + recipientId) + "-" + version(recipientType);
+    }
+
+    private long version(String key) {
+        AtomicLong version = versions.get(key);
+        return version == null ? 0 : version.get();
+    }
+}
@@ -0,0 +1,81 @@
+package RadVeda.NotificationManagement.inbox;
+
+import RadVeda.NotificationManagement.Notifications.InboxItem;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * WHAT IS THE POINT OF THIS FILE:
+ * The registry of parked long-poll requests ("wake me when something new
+ * arrives"), for clients that can't keep a WebSocket open.
+ * 
+ * WHY WE NEED IT:
+ * A parked request is only a DeferredResult in this map: the Tomcat thread is
+ * released as soon as the controller returns, so thousands of waiting clients
+ * cost memory, not threads.
+ * 
+ * HOW IT WORKS:
+ * 1. park() registers the waiter; it leaves the map on completion, timeout or
+ * client disconnect.
+ * 2. The event path (processChatEvent and its siblings) calls wake() with the
+ * new item, which completes every waiter of that recipient. Broadcasts wake
+ * every waiter of the role.
+ * 3. Waiters are per replica. An event consumed by another replica doesn't wake
+ * us: the client times out and its next poll (with `since`) finds the item.
+ */
+@Component
+public class InboxWaiters {
+
+    private final ConcurrentHashMap<String, Set<DeferredResult<List<InboxItem>>>> waiters = new ConcurrentHashMap<>();
+
+    public void park(String recipientType, Long recipientId, DeferredResult<List<InboxItem>> result) {
+        String key = key(recipientType, recipientId);
+        // add inside compute(): remove() may be dropping the (empty) set concurrently.
+        waiters.compute(key, (k, parked) -> {
+            Set<DeferredResult<List<InboxItem>>> set = parked != null ? parked : ConcurrentHashMap.newKeySet();
+            set.add(result);
+            return set;
+        });
+        result.onCompletion(() -> remove(key, result));
+    }
+
+    public void wake(String recipientType, Long recipientId, InboxItem item) {
+        Set<DeferredResult<List<InboxItem>>> parked = waiters.get(key(recipientType, recipientId));
+        if (parked != null) {
+            complete(parked, item);
+        }
+    }
+
+    public void wakeRole(String recipientType, InboxItem item) {
+        String prefix = recipientType + "|";
+        for (Map.Entry<String, Set<DeferredResult<List<InboxItem>>>> entry : waiters.entrySet()) {
+            if (entry.getKey().startsWith(prefix)) {
+                complete(entry.getValue(), item);
+            }
+        }
+    }
+
+    private static void complete(Set<DeferredResult<List<InboxItem>>> parked, InboxItem item) {
+        List<InboxItem> result = List.of(item);
+        for (DeferredResult<List<InboxItem>> waiter : parked) {
+            // No-op if it already completed or timed out.
+            waiter.setResult(result);
+        }
+    }
+
+    private void remove(String key, DeferredResult<List<InboxItem>> result) {
+        waiters.computeIfPresent(key, (k, parked) -> {
+            parked.remove(result);
+            return parked.isEmpty() ? null : parked;
+        });
+    }
+
+    private static String key(String recipientType, Long recipientId) {
+        return recipientType + "|" + recipientId;
+    }
+}
@@ -0,0 +1,84 @@
+package RadVeda.NotificationManagement.inbox;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * WHAT IS THE POINT OF THIS FILE:
+ * An in-memory table of unread counters ("CHAT|DOCTOR|5" -> 3).
+ * 
+ * WHY WE NEED IT:
+ * Clients only want a badge number. Before this, they downloaded (and we
+ * decrypted) every notification just to count them. Now the count is a map
+ * lookup, and the write paths keep it up to date with +1 / -1.
+ * 
+ * HOW IT STAYS CORRECT:
+ * 1. Cache miss -> we ask the DB ONCE (the `dbFallback`), then keep the value.
+ * 2. We only +1/-1 counters that are already loaded. A counter that is not
+ * loaded will be read fresh from the DB anyway.
+ * 3. Every entry is reloaded after MAX_AGE, so a lost update (e.g. a write
+ * handled by another replica) heals itself.
+ */
+@Component
+public class UnreadCountCache {
+
+    private static final long MAX_AGE_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    private final ConcurrentHashMap<String, Entry> counters = new ConcurrentHashMap<>();
+
+    public static String key(String category, String recipientType, Long recipientId) {
+        return category + "|" + recipientType + "|" + recipientId;
+    }
+
+    public static String key(String category, String recipientType) {
+        return category + "|" + recipientType;
+    }
+
+    public long get(String key, LongSupplier dbFallback) {
+        Entry entry = counters.get(key);
+        if (entry != null && System.nanoTime() - entry.loadedAt < MAX_AGE_NANOS) {
+            return entry.value.get();
+        }
+        // Loaded outside of the map lock on purpose: a slow query must not block
+        // other keys that share the same bucket.
+        Entry loaded = new Entry(dbFallback.getAsLong());
+        counters.put(key, loaded);
+        return loaded.value.get();
+    }
+
+    public void increment(String key) {
+        Entry entry = counters.get(key);
+        if (entry != null) {
+            entry.value.incrementAndGet();
+        }
+    }
+
+    public void decrement(String key) {
+        Entry entry = counters.get(key);
+        if (entry != null) {
+            entry.value.updateAndGet(v -> Math.max(0, v - 1));
+        }
+    }
+
+    // After "mark all read" / "delete all" we KNOW the answer, no DB needed.
+    public void reset(String key) {
+        counters.put(key, new Entry(0));
+    }
+
+    public void invalidateAll() {
+        counters.clear();
+    }
+
+    private static final class Entry {
+        private final AtomicLong value;
+        private final long loadedAt = System.nanoTime();
+
+        private Entry(long value) {
+            this.value = new AtomicLong(value);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package RadVeda.NotificationManagement.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+
+/**
+ * WHAT IS THE POINT OF THIS FILE:
+ * Exports the state of every CountingAsyncAppender of the logback config:
+ * 1. logging.async.dropped{appender}: events thrown away (queue full, or nearly
+ * full and the event was INFO or below).
+ * 2. logging.async.queue.remaining{appender}: free slots; near 0 means the
+ * writer can't keep up with the rate of logging.
+ * Spring Boot configures logback before the context starts, so the appenders
+ * already exist when this binder runs.
+ */
+@Component
+public class AsyncLoggingMetrics implements MeterBinder {
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+            return; // not logback
+        }
+        Set<String> bound = new HashSet<>();
+        for (Logger logger : context.getLoggerList()) {
+            for (Iterator<Appender<ILoggingEvent>> it = logger.iteratorForAppenders(); it.hasNext();) {
+                if (it.next() instanceof CountingAsyncAppender appender && bound.add(appender.getName())) {
+                    FunctionCounter.builder("logging.async.dropped", appender, CountingAsyncAppender::getDroppedCount)
+                            .tag("appender", appender.getName())
+                            .register(registry);
+                    Gauge.builder("logging.async.queue.remaining", appender, CountingAsyncAppender::getRemainingCapacity)
+                            .tag("appender", appender.getName())
+                            .register(registry);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package RadVeda.NotificationManagement.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * WHAT IT IS:
+ * Logback's AsyncAppender (bounded queue, one writer thread, configured in
+ * logback-spring.xml with neverBlock) that COUNTS what it throws away.
+ *
+ * WHY WE NEED IT:
+ * With neverBlock a full queue drops events instead of stalling the thread that
+ * logs (a listener or request thread) on console I/O. Plain AsyncAppender drops
+ * silently; with this one the drops are a metric (logging.async.dropped, see
+ * AsyncLoggingMetrics), so "the logs are missing lines" is visible.
+ *
+ * WHAT IS DROPPED (same rules as AsyncAppender):
+ * - TRACE/DEBUG/INFO once less than `discardingThreshold` slots are left;
+ * - anything once the queue is full.
+ * The check runs right before the hand-off, so two threads racing for the last
+ * slot can still lose one event uncounted: the count is a (tight) lower bound.
+ */
+public class CountingAsyncAppender extends AsyncAppender {
+
+    private final LongAdder dropped = new LongAdder();
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        if (isStarted()) {
+            int remaining = getRemainingCapacity();
+            if (remaining == 0 || (remaining < getDiscardingThreshold() && isDiscardable(event))) {
+                dropped.increment();
+                return;
+            }
+        }
+        super.append(event);
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+}
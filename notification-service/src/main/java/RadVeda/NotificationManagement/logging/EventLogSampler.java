@@ -0,0 +1,40 @@
+package RadVeda.NotificationManagement.logging;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * WHAT IT IS:
+ * Decides which per-message events get an INFO line: one in `sample-every`
+ * (notifications.logging.event-sample-every, default 100; 1 logs every event,
+ * 0 none).
+ *
+ * WHY WE NEED IT:
+ * One line per consumed message is one console write per message: at our
+ * volume a real share of CPU, for lines nobody reads one by one. A steady 1%
+ * still shows that traffic flows and what it looks like. Callers log
+ * everything at DEBUG when that level is on, whatever the sampler says.
+ *
+ * HOW IT WORKS:
+ * A counter, not a random draw: cheap, and the sampled lines come at an even
+ * pace.
+ */
+@Component
+public class EventLogSampler {
+
+    private final AtomicLong events = new AtomicLong();
+
+    @Value("${notifications.logging.event-sample-every:100}")
+    private long sampleEvery;
+
+    /** Whether this event should be logged; call once per event. */
+    public boolean sample() {
+        return sampleEvery > 0 && events.getAndIncrement() % sampleEvery == 0;
+    }
+
+    public long sampleEvery() {
+        return sampleEvery;
+    }
+}
@@ -0,0 +1,69 @@
+package RadVeda.NotificationManagement.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * WHAT IS THE POINT OF THIS FILE:
+ * The timers of the notification pipeline, in one place:
+ * RabbitMQ -> consume -> persist (incl. encryption) -> push (STOMP).
+ * 
+ * WHY WE NEED IT:
+ * Without them we only knew that a notification arrived "late", not whether it
+ * waited in the queue, in the DB or in the WebSocket broker.
+ * 
+ * METRICS (all tagged with `type` = CHAT / CONSENT / ONE_WAY / BROADCAST, any
+ * other value is reported as UNKNOWN so a bad producer can't blow up the
+ * number of series):
+ * 1. notifications.queue.lag{type}: publish timestamp -> dequeue. Only for
+ * messages whose publisher sets the AMQP timestamp property.
+ * 2. notifications.consume{type,outcome}: the whole listener call.
+ * 3. notifications.persist{type}: the repository save (includes encryption).
+ * 4. notifications.push{type}: convertAndSend to the STOMP broker.
+ * Encryption (notifications.encryption, see EncryptionUtility) and external
+ * calls (notifications.external.call, see ExternalServiceClient) are timed
+ * where they happen.
+ */
+@Component
+@RequiredArgsConstructor
+public class PipelineMetrics {
+
+    private static final Set<String> TYPES = Set.of("CHAT", "CONSENT", "ONE_WAY", "BROADCAST");
+
+    private final MeterRegistry meterRegistry;
+
+    /** `type` if it's a known notification type, UNKNOWN otherwise. */
+    public static String typeTag(String type) {
+        return type != null && TYPES.contains(type) ? type : "UNKNOWN";
+    }
+
+    public void recordQueueLag(String type, Instant publishedAt) {
+        Duration lag = Duration.between(publishedAt, Instant.now());
+        // Clock skew between producer and us can make it negative.
+        meterRegistry.timer("notifications.queue.lag", "type", typeTag(type))
+                .record(lag.isNegative() ? Duration.ZERO : lag);
+    }
+
+    public Timer.Sample startConsume() {
+        return Timer.start(meterRegistry);
+    }
+
+    public void stopConsume(Timer.Sample sample, String type, String outcome) {
+        sample.stop(meterRegistry.timer("notifications.consume", "type", typeTag(type), "outcome", outcome));
+    }
+
+    public <T> T persist(String type, Supplier<T> save) {
+        return meterRegistry.timer("notifications.persist", "type", typeTag(type)).record(save);
+    }
+
+    public void push(String type, Runnable send) {
+        meterRegistry.timer("notifications.push", "type", typeTag(type)).record(send);
+    }
+}
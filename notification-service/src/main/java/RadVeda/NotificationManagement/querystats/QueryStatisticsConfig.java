@@ -0,0 +1,34 @@
+package RadVeda.NotificationManagement.querystats;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+/**
+ * WHAT IS THE POINT OF THIS FILE:
+ * Hands our Spring beans to Hibernate (it would otherwise instantiate the
+ * classes itself, without their dependencies).
+ *
+ * WHAT WE GET (statistics are on: spring.jpa.properties.hibernate.generate_statistics):
+ * 1. Hibernate metrics (auto-configured with hibernate-micrometer):
+ * hibernate.statements, hibernate.entities.loads, hibernate.flushes,
+ * hibernate.query.executions, ...
+ * 2. notifications.db.query + the slow-query log (QueryStatisticsFactory).
+ * 3. notifications.db.statements per HTTP request (StatementCounter,
+ * StatementsPerRequestFilter).
+ * 4. The `queries` actuator endpoint: the top-N queries by total time
+ * (TopQueriesEndpoint).
+ */
+public class QueryStatisticsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer queryStatisticsCustomizer(QueryStatisticsFactory statisticsFactory,
+            StatementCounter statementCounter) {
+        return properties -> {
+            properties.put(AvailableSettings.STATS_BUILDER, statisticsFactory);
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, statementCounter);
+        };
+    }
+}
@@ -0,0 +1,67 @@
+package RadVeda.NotificationManagement.querystats;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.internal.StatisticsImpl;
+import org.hibernate.stat.spi.StatisticsFactory;
+import org.hibernate.stat.spi.StatisticsImplementor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WHAT IT IS:
+ * Hibernate's own statistics (hibernate.stats.factory, see
+ * QueryStatisticsConfig), plus two things done for every executed query:
+ * 1. notifications.db.query: a timer (with histogram buckets) of the execution
+ * time of every JPQL/HQL query, whatever the query. The per-query breakdown is
+ * in Hibernate's statistics (TopQueriesEndpoint), not in tags, which would make
+ * one series per query text.
+ * 2. Slow-query log: a query that takes `notifications.db.slow-query-threshold`
+ * or longer is logged at WARN with the query text (normalized: parameters stay
+ * placeholders, so no patient data), its time and its row count. @Query
+ * methods show their JPQL; derived repository methods are criteria queries and
+ * show as "[CRITERIA] <sql>".
+ *
+ * WHY HERE:
+ * Hibernate reports each query execution, with its time, only to its
+ * statistics (queryExecuted). Hooking there costs nothing extra: statistics
+ * are collected anyway (hibernate.generate_statistics, for the Hibernate
+ * metrics and the endpoint).
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class QueryStatisticsFactory implements StatisticsFactory {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${notifications.db.slow-query-threshold:PT0.2S}")
+    private Duration slowQueryThreshold;
+
+    @Override
+    public StatisticsImplementor buildStatistics(SessionFactoryImplementor sessionFactory) {
+        Timer queryTimer = Timer.builder("notifications.db.query").register(meterRegistry);
+        long thresholdMillis = slowQueryThreshold.toMillis();
+
+        return new StatisticsImpl(sessionFactory) {
+            @Override
+            public void queryExecuted(String query, int rows, long time) {
+                super.queryExecuted(query, rows, time);
+                queryTimer.record(time, TimeUnit.MILLISECONDS);
+                if (time >= thresholdMillis) {
+                    log.atWarn()
+                            .addKeyValue("millis", time)
+                            .addKeyValue("rows", rows)
+                            .addKeyValue("query", query)
+                            .log("Slow query");
+                }
+            }
+        };
+    }
+}
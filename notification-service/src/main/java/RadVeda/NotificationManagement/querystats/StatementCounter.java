@@ -0,0 +1,46 @@
+package RadVeda.NotificationManagement.querystats;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+
+/**
+ * WHAT IT IS:
+ * Counts the SQL statements Hibernate prepares on the current thread, between
+ * start() and stop() (StatementsPerRequestFilter wraps every HTTP request).
+ *
+ * WHY WE NEED IT:
+ * A request that issues 1 + N statements (an N+1 read, a delete-all that
+ * deletes row by row) looks fine in per-query timings: each statement is fast.
+ * The count per request is what gives it away.
+ *
+ * HOW IT WORKS:
+ * Hibernate calls inspect() for every statement it prepares (registered as
+ * hibernate.session_factory.statement_inspector in QueryStatisticsConfig). The
+ * SQL is returned unchanged. Outside start()/stop() (listener threads, jobs)
+ * nothing is counted.
+ */
+@Component
+public class StatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        int[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+
+    void start() {
+        COUNT.set(new int[1]);
+    }
+
+    /** Statements since start(); ends the count. */
+    int stop() {
+        int[] count = COUNT.get();
+        COUNT.remove();
+        return count == null ? 0 : count[0];
+    }
+}
@@ -0,0 +1,50 @@
+package RadVeda.NotificationManagement.querystats;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * WHAT IS THE POINT OF THIS FILE:
+ * Records notifications.db.statements{uri}: how many SQL statements one HTTP
+ * request issued (see StatementCounter), per endpoint. `uri` is the route
+ * pattern (/notifications/deleteChatNotification/{id}), so ids don't multiply
+ * the series. Requests that ran no SQL (actuator, 401s) are not recorded.
+ * For a long-poll (DeferredResult), only the statements of the first dispatch
+ * count.
+ */
+@Component
+@RequiredArgsConstructor
+public class StatementsPerRequestFilter extends OncePerRequestFilter {
+
+    private final StatementCounter statementCounter;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        statementCounter.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            int statements = statementCounter.stop();
+            if (statements > 0) {
+                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                DistributionSummary.builder("notifications.db.statements")
+                        .baseUnit("statements")
+                        .tag("uri", pattern == null ? "UNKNOWN" : pattern.toString())
+                        .register(meterRegistry)
+                        .record(statements);
+            }
+        }
+    }
+}
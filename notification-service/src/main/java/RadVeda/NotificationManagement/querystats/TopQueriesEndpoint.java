@@ -0,0 +1,55 @@
+package RadVeda.NotificationManagement.querystats;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * WHAT IT IS:
+ * GET /actuator/queries[?limit=20]: the most costly queries since start-up,
+ * by TOTAL execution time (a fast query run a million times can cost more than
+ * a slow one run twice), with their counts, rows and average/max times.
+ * ADMIN and SUPERADMIN only (see SecurityConfig).
+ *
+ * The data is Hibernate's per-query statistics (normalized JPQL/HQL text as the
+ * key, at most hibernate.statistics.query_max_size distinct queries).
+ */
+@Component
+@Endpoint(id = "queries")
+@RequiredArgsConstructor
+public class TopQueriesEndpoint {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @ReadOperation
+    public List<TopQuery> topQueries(@Nullable Integer limit) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        return Arrays.stream(statistics.getQueries())
+                .map(query -> TopQuery.of(query, statistics.getQueryStatistics(query)))
+                .filter(top -> top.executions > 0)
+                .sorted(Comparator.comparingLong(TopQuery::totalMillis).reversed())
+                .limit(limit == null || limit <= 0 ? DEFAULT_LIMIT : limit)
+                .toList();
+    }
+
+    public record TopQuery(String query, long executions, long rows, long totalMillis, long avgMillis,
+            long maxMillis) {
+
+        static TopQuery of(String query, QueryStatistics stats) {
+            return new TopQuery(query, stats.getExecutionCount(), stats.getExecutionRowCount(),
+                    stats.getExecutionTotalTime(), stats.getExecutionAvgTime(), stats.getExecutionMaxTime());
+        }
+    }
+}
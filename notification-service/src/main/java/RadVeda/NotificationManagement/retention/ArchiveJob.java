@@ -0,0 +1,157 @@
+package RadVeda.NotificationManagement.retention;
+
+import RadVeda.NotificationManagement.Notifications.*;
+import RadVeda.NotificationManagement.inbox.InboxVersionTracker;
+import RadVeda.NotificationManagement.inbox.UnreadCountCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * WHAT IS THE POINT OF THIS FILE:
+ * The background job that moves old notifications from their hot table into
+ * `archived_notification`.
+ * 
+ * WHY WE NEED IT:
+ * Inbox reads only ever need recent rows. Rows older than
+ * `notifications.retention.archive-after.<TYPE>` are copied (compressed and
+ * encrypted) into the archive and deleted from the hot table, in ONE
+ * transaction per chunk, so a row is always in exactly one of the two places.
+ * 
+ * MORE THAN ONE REPLICA:
+ * Every replica runs this job, unsynchronised, so two of them can read the
+ * same chunk. Ids already in the archive are skipped (and only deleted from
+ * the hot table). Two chunks archived at the same moment still collide on the
+ * (sourceType, sourceId) unique key: the loser's transaction rolls back, and it
+ * simply goes on with the next chunk, since the winner moved those rows.
+ * A failure in one type doesn't stop the others.
+ *
+ * HOW IT PLAYS WITH THE PURGE:
+ * Archiving happens first (e.g. after 30 days), the RetentionPurgeJob later
+ * deletes archived rows once they pass `max-age`. A type without max-age (e.g.
+ * CONSENT) stays in the archive for audit.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ArchiveJob {
+
+    private final RetentionProperties properties;
+    private final ChatNotificationRepository chatNotificationRepository;
+    private final ConsentRequestNotificationRepository consentRequestNotificationRepository;
+    private final OneWayNotificationRepository oneWayNotificationRepository;
+    private final ArchivedNotificationRepository archivedNotificationRepository;
+    private final NotificationArchiveCodec codec;
+    private final UnreadCountCache unreadCountCache;
+    private final InboxVersionTracker inboxVersions;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+
+    @Scheduled(fixedDelayString = "${notifications.retention.archive-interval:PT30M}",
+            initialDelayString = "${notifications.retention.initial-delay:PT1M}")
+    public void archive() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        long archived = 0;
+        archived += archiveTypeSafely("CHAT", chatNotificationRepository);
+        archived += archiveTypeSafely("CONSENT", consentRequestNotificationRepository);
+        archived += archiveTypeSafely("ONE_WAY", oneWayNotificationRepository);
+
+        if (archived > 0) {
+            unreadCountCache.invalidateAll();
+            inboxVersions.bumpAll();
+            log.info("Archive job moved {} notifications to the archive", archived);
+        }
+    }
+
+    private <T extends Notification> long archiveTypeSafely(String type, NotificationBaseRepository<T> repository) {
+        try {
+            return archiveType(type, repository);
+        } catch (RuntimeException e) {
+            log.warn("Archive job failed for {}, retried next run", type, e);
+            return 0;
+        }
+    }
+
+    private <T extends Notification> long archiveType(String type, NotificationBaseRepository<T> repository) {
+        Duration after = properties.getArchiveAfter().get(type);
+        if (after == null) {
+            return 0;
+        }
+
+        Instant cutoff = Instant.now().minus(after);
+        Pageable chunk = PageRequest.of(0, properties.getChunkSize());
+        long archived = 0;
+
+        for (int i = 0; i < properties.getMaxChunksPerRun(); i++) {
+            List<Long> ids = repository.findIdsCreatedBefore(cutoff, chunk);
+            if (ids.isEmpty()) {
+                break;
+            }
+            int moved;
+            try {
+                moved = transactionTemplate.execute(tx -> moveToArchive(type, repository, ids));
+            } catch (DataIntegrityViolationException e) {
+                // another replica archived (some of) this chunk first; its rows are gone from the hot table now
+                log.info("A {} chunk was archived concurrently by another replica", type);
+                continue;
+            }
+            archived += moved;
+            meterRegistry.counter("notifications.retention.archived", "type", type).increment(moved);
+
+            if (ids.size() < properties.getChunkSize() || !pause()) {
+                break;
+            }
+        }
+        return archived;
+    }
+
+    // Returns how many rows it copied; ids already in the archive are only deleted.
+    private <T extends Notification> int moveToArchive(String type, NotificationBaseRepository<T> repository,
+            List<Long> ids) {
+        Instant now = Instant.now();
+        Set<Long> alreadyArchived = archivedNotificationRepository.findArchivedSourceIds(type, ids);
+        List<ArchivedNotification> copies = new ArrayList<>(ids.size());
+        for (T notification : repository.findAllById(ids)) {
+            if (alreadyArchived.contains(notification.getId())) {
+                continue;
+            }
+            ArchivedNotification copy = new ArchivedNotification();
+            copy.setSourceType(type);
+            copy.setSourceId(notification.getId());
+            copy.setRecipientType(notification.getRecipientType());
+            copy.setRecipientId(notification.getRecipientId());
+            copy.setCreatedAt(notification.getCreatedAt());
+            copy.setArchivedAt(now);
+            copy.setPayload(codec.pack(notification));
+            copies.add(copy);
+        }
+        archivedNotificationRepository.saveAll(copies);
+        repository.deleteAllByIdInBatch(ids);
+        return copies.size();
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(properties.getPauseBetweenChunks().toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package RadVeda.NotificationManagement.retention;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Base64;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * WHAT IS THE POINT OF THIS FILE:
+ * Turns a notification into the compressed `payload` of an ArchivedNotification
+ * and back.
+ * 
+ * WHY WE NEED IT:
+ * pack: entity -> JSON -> GZIP -> Base64 (the EncryptedStringConverter then
+ * encrypts it on save).
+ * unpack: the exact reverse, giving back a detached ChatNotification /
+ * ConsentRequestNotification / OneWayNotification, so API callers can't tell
+ * whether a row came from the hot table or the archive.
+ */
+@Component
+@RequiredArgsConstructor
+public class NotificationArchiveCodec {
+
+    private final ObjectMapper objectMapper;
+
+    public String pack(Object notification) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+                objectMapper.writeValue(gzip, notification);
+            }
+            return Base64.getEncoder().encodeToString(bytes.toByteArray());
+        } catch (Exception e) {
+            throw new RuntimeException("Error packing archived notification", e);
+        }
+    }
+
+    public <T> T unpack(String payload, Class<T> type) {
+        try (GZIPInputStream gzip = new GZIPInputStream(
+                new ByteArrayInputStream(Base64.getDecoder().decode(payload)))) {
+            return objectMapper.readValue(gzip, type);
+        } catch (Exception e) {
+            throw new RuntimeException("Error unpacking archived notification", e);
+        }
+    }
+}
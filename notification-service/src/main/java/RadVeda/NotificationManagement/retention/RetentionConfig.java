@@ -0,0 +1,16 @@
+package RadVeda.NotificationManagement.retention;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(RetentionProperties.class)
+/**
+ * WHAT IS THE POINT OF THIS FILE:
+ * Switches on Spring's scheduler (for the background jobs) and binds the
+ * RetentionProperties.
+ */
+public class RetentionConfig {
+}
@@ -0,0 +1,51 @@
+package RadVeda.NotificationManagement.retention;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * WHAT IS THE POINT OF THIS FILE:
+ * The retention policy, read from `notifications.retention.*` in
+ * application.yml.
+ * 
+ * WHY WE NEED IT:
+ * Each notification type has its own lifetime (a chat ping is stale after a few
+ * weeks, a consent request must be kept for audit). Putting the numbers in
+ * config lets ops change them without a release.
+ * 
+ * WHY WE NEED IT ALL OF THAT:
+ * 1. maxAge: Keyed by the NotificationMessage type ("CHAT", "CONSENT",
+ * "ONE_WAY", "BROADCAST"). A type that is NOT listed is kept forever (only its
+ * explicit expiresAt is honoured), unless it is archived: then even expiresAt
+ * doesn't delete it, it is kept for audit (CONSENT).
+ * 2. chunkSize / pauseBetweenChunks: Each DELETE touches at most `chunkSize`
+ * rows, then the job sleeps. Short transactions = short locks, so the consumer
+ * never waits behind the purge.
+ * 3. archiveAfter: Same keys as maxAge. Rows older than this move from the hot
+ * table into the compressed archive (see ArchiveJob); maxAge then applies to
+ * the archived copy.
+ * 4. maxChunksPerRun: A safety cap so a huge backlog is worked off over several
+ * runs instead of one endless run.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "notifications.retention")
+public class RetentionProperties {
+
+    private boolean enabled = true;
+
+    private Map<String, Duration> maxAge = new HashMap<>();
+
+    private Map<String, Duration> archiveAfter = new HashMap<>();
+
+    private int chunkSize = 500;
+
+    private Duration pauseBetweenChunks = Duration.ofMillis(200);
+
+    private int maxChunksPerRun = 200;
+}
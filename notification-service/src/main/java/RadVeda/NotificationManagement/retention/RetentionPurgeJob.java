@@ -0,0 +1,202 @@
+package RadVeda.NotificationManagement.retention;
+
+import RadVeda.NotificationManagement.Notifications.*;
+import RadVeda.NotificationManagement.inbox.InboxVersionTracker;
+import RadVeda.NotificationManagement.inbox.UnreadCountCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * WHAT IS THE POINT OF THIS FILE:
+ * The background job that enforces RetentionProperties.
+ * 
+ * WHY WE NEED IT:
+ * Without it the notification tables grow forever, and every inbox scan and
+ * the DB buffer pool pay for rows nobody will ever read again.
+ * 
+ * HOW IT WORKS:
+ * For every type: find the ids of up to `chunkSize` rows that are too old (or
+ * past their own expiresAt), delete exactly those ids in one short
+ * transaction, sleep, repeat. The id lookup walks the createdAt / expiresAt
+ * index, so no chunk ever scans the table.
+ * 
+ * KEPT FOR AUDIT:
+ * A type that is archived (archive-after) but has no max-age, i.e. CONSENT, is
+ * never deleted, not even past its expiresAt: the hot row stays until ArchiveJob
+ * moves it into the archive, where it is kept.
+ * 
+ * METRICS:
+ * 1. notifications.retention.purged{type,tier}: rows deleted from the hot
+ * tables ("hot") or from the archive ("archive").
+ * 2. notifications.retention.lag{type}: seconds between the retention cutoff
+ * and the oldest row still present (0 = fully caught up).
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class RetentionPurgeJob {
+
+    private final RetentionProperties properties;
+    private final ChatNotificationRepository chatNotificationRepository;
+    private final ConsentRequestNotificationRepository consentRequestNotificationRepository;
+    private final OneWayNotificationRepository oneWayNotificationRepository;
+    private final BroadcastNotificationRepository broadcastNotificationRepository;
+    private final BroadcastReceiptRepository broadcastReceiptRepository;
+    private final ArchivedNotificationRepository archivedNotificationRepository;
+    private final UnreadCountCache unreadCountCache;
+    private final InboxVersionTracker inboxVersions;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<String, AtomicLong> lagSeconds = new ConcurrentHashMap<>();
+
+    @Scheduled(fixedDelayString = "${notifications.retention.interval:PT10M}",
+            initialDelayString = "${notifications.retention.initial-delay:PT1M}")
+    public void purge() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        long purged = 0;
+        purged += purgeType("CHAT", chatNotificationRepository);
+        purged += purgeType("CONSENT", consentRequestNotificationRepository);
+        purged += purgeType("ONE_WAY", oneWayNotificationRepository);
+        purged += purge("BROADCAST",
+                broadcastNotificationRepository::findIdsCreatedBefore,
+                broadcastNotificationRepository::findIdsExpiredBefore,
+                // Receipts and their broadcast go in the SAME transaction.
+                ids -> transactionTemplate.executeWithoutResult(tx -> {
+                    broadcastReceiptRepository.deleteByBroadcastIdIn(ids);
+                    broadcastNotificationRepository.deleteAllByIdInBatch(ids);
+                }),
+                broadcastNotificationRepository::findOldestCreatedAt);
+        purged += purgeArchive("CHAT");
+        purged += purgeArchive("CONSENT");
+        purged += purgeArchive("ONE_WAY");
+
+        if (purged > 0) {
+            // Unread counters may now count rows that no longer exist.
+            unreadCountCache.invalidateAll();
+            inboxVersions.bumpAll();
+            log.info("Retention purge removed {} notifications", purged);
+        }
+    }
+
+    private <T extends Notification> long purgeType(String type, NotificationBaseRepository<T> repository) {
+        return purge(type,
+                repository::findIdsCreatedBefore,
+                repository::findIdsExpiredBefore,
+                repository::deleteAllByIdInBatch,
+                repository::findOldestCreatedAt);
+    }
+
+    // The archived copies follow the same max-age as the hot rows.
+    private long purgeArchive(String type) {
+        Duration maxAge = properties.getMaxAge().get(type);
+        if (maxAge == null) {
+            return 0;
+        }
+        Instant cutoff = Instant.now().minus(maxAge);
+        Pageable chunk = PageRequest.of(0, properties.getChunkSize());
+        return deleteInChunks(type, "archive",
+                () -> archivedNotificationRepository.findIdsCreatedBefore(type, cutoff, chunk),
+                archivedNotificationRepository::deleteAllByIdInBatch);
+    }
+
+    private long purge(String type,
+            IdFinder createdBefore,
+            IdFinder expiredBefore,
+            Consumer<List<Long>> deleter,
+            Supplier<Instant> oldestCreatedAt) {
+
+        Instant now = Instant.now();
+        Duration maxAge = properties.getMaxAge().get(type);
+        Pageable chunk = PageRequest.of(0, properties.getChunkSize());
+
+        long purged = 0;
+        if (!keptForAudit(type)) {
+            purged += deleteInChunks(type, "hot", () -> expiredBefore.find(now, chunk), deleter);
+        }
+        if (maxAge != null) {
+            Instant cutoff = now.minus(maxAge);
+            purged += deleteInChunks(type, "hot", () -> createdBefore.find(cutoff, chunk), deleter);
+
+            Instant oldest = oldestCreatedAt.get();
+            long lag = oldest == null ? 0 : Math.max(0, Duration.between(oldest, cutoff).toSeconds());
+            lagGauge(type).set(lag);
+        }
+        return purged;
+    }
+
+    private boolean keptForAudit(String type) {
+        return properties.getArchiveAfter().containsKey(type) && !properties.getMaxAge().containsKey(type);
+    }
+
+    private long deleteInChunks(String type, String tier, Supplier<List<Long>> nextChunk,
+            Consumer<List<Long>> deleter) {
+        Counter counter = meterRegistry.counter("notifications.retention.purged", "type", type, "tier", tier);
+        long purged = 0;
+
+        for (int i = 0; i < properties.getMaxChunksPerRun(); i++) {
+            List<Long> ids = nextChunk.get();
+            if (ids.isEmpty()) {
+                break;
+            }
+            deleter.accept(ids);
+            purged += ids.size();
+            counter.increment(ids.size());
+
+            if (ids.size() < properties.getChunkSize()) {
+                break;
+            }
+            if (!pause()) {
+                break;
+            }
+        }
+        return purged;
+    }
+
+    // The throttle: give the consumer and the request threads room between chunks.
+    private boolean pause() {
+        try {
+            Thread.sleep(properties.getPauseBetweenChunks().toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private AtomicLong lagGauge(String type) {
+        return lagSeconds.computeIfAbsent(type, t -> {
+            AtomicLong value = new AtomicLong();
+            Gauge.builder("notifications.retention.lag", value, AtomicLong::get)
+                    .tag("type", t)
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+            return value;
+        });
+    }
+
+    @FunctionalInterface
+    private interface IdFinder {
+        List<Long> find(Instant instant, Pageable chunk);
+    }
+}
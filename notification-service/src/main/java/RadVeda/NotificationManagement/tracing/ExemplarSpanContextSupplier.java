@@ -0,0 +1,64 @@
+package RadVeda.NotificationManagement.tracing;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import io.prometheus.client.exemplars.tracer.common.SpanContextSupplier;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+/**
+ * WHAT IT IS:
+ * The trace/span ids Prometheus attaches as exemplars to histogram buckets
+ * and counters (replaces Spring Boot's own supplier, which backs off when this
+ * bean exists).
+ *
+ * WHY WE NEED IT:
+ * Spring Boot's supplier looks the Tracer up in the bean factory on the first
+ * sample. That first sample can come from a JVM thread (the GC notification
+ * behind jvm.gc.pause) while the main thread holds the bean factory's lock to
+ * create other beans: the two threads deadlock and start-up never finishes.
+ * Rare with eager beans, but the fast-start profile creates beans lazily, and
+ * there it hung most starts.
+ *
+ * HOW IT WORKS:
+ * The Tracer is taken once, on the main thread, when all eager singletons
+ * exist. Samples taken before that (start-up only) have no exemplar.
+ */
+@Component
+@RequiredArgsConstructor
+public class ExemplarSpanContextSupplier implements SpanContextSupplier, SmartInitializingSingleton {
+
+    private final ObjectProvider<Tracer> tracerProvider;
+
+    private volatile Tracer tracer;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        tracer = tracerProvider.getIfAvailable();
+    }
+
+    @Override
+    public String getTraceId() {
+        Span span = currentSpan();
+        return span != null ? span.context().traceId() : null;
+    }
+
+    @Override
+    public String getSpanId() {
+        Span span = currentSpan();
+        return span != null ? span.context().spanId() : null;
+    }
+
+    @Override
+    public boolean isSampled() {
+        Span span = currentSpan();
+        return span != null && Boolean.TRUE.equals(span.context().sampled());
+    }
+
+    private Span currentSpan() {
+        Tracer current = tracer;
+        return current != null ? current.currentSpan() : null;
+    }
+}
@@ -0,0 +1,86 @@
+package RadVeda.NotificationManagement.tracing;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonFactory;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * WHAT IT IS:
+ * A SpanExporter that appends every finished span to a file, one JSON object
+ * per line (traceId, spanId, parentSpanId, name, kind, start/end in epoch
+ * nanos, attributes).
+ * 
+ * WHY WE NEED IT:
+ * To look at (or assert on) whole traces locally without running a collector:
+ * `grep <traceId> spans.jsonl`.
+ */
+class FileSpanExporter implements SpanExporter {
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final Writer writer;
+
+    FileSpanExporter(Path path) {
+        try {
+            writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                    StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new RuntimeException("Error opening span file " + path, e);
+        }
+    }
+
+    @Override
+    public synchronized CompletableResultCode export(Collection<SpanData> spans) {
+        try {
+            for (SpanData span : spans) {
+                JsonGenerator json = jsonFactory.createGenerator(writer);
+                json.writeStartObject();
+                json.writeStringField("traceId", span.getTraceId());
+                json.writeStringField("spanId", span.getSpanId());
+                json.writeStringField("parentSpanId", span.getParentSpanId());
+                json.writeStringField("name", span.getName());
+                json.writeStringField("kind", span.getKind().name());
+                json.writeNumberField("startEpochNanos", span.getStartEpochNanos());
+                json.writeNumberField("endEpochNanos", span.getEndEpochNanos());
+                json.writeObjectFieldStart("attributes");
+                for (Map.Entry<AttributeKey<?>, Object> attribute : span.getAttributes().asMap().entrySet()) {
+                    json.writeStringField(attribute.getKey().getKey(), String.valueOf(attribute.getValue()));
+                }
+                json.writeEndObject();
+                json.writeEndObject();
+                json.flush();
+                writer.write('\n');
+            }
+            writer.flush();
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public synchronized CompletableResultCode shutdown() {
+        try {
+            writer.close();
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            return CompletableResultCode.ofFailure();
+        }
+    }
+}
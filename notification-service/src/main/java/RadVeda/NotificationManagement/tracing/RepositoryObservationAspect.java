@@ -0,0 +1,61 @@
+package RadVeda.NotificationManagement.tracing;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * WHAT IS THE POINT OF THIS FILE:
+ * One span (and timer) per call of a Spring Data repository of this service:
+ * "notifications.repository" with the repository and method name, e.g.
+ * ChatNotificationRepository.save.
+ * 
+ * WHY WE NEED IT:
+ * Inside a traced notification we want to see how much of it was the DB,
+ * and which query. Both tags are fixed per call site, so the metric stays
+ * low-cardinality.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class RepositoryObservationAspect {
+
+    // The proxy's class name is generated; name it after the repository interface it implements.
+    private static final ClassValue<String> REPOSITORY_NAMES = new ClassValue<>() {
+        @Override
+        protected String computeValue(Class<?> proxyClass) {
+            for (Class<?> type : proxyClass.getInterfaces()) {
+                if (type.getName().startsWith("RadVeda.")) {
+                    return type.getSimpleName();
+                }
+            }
+            return proxyClass.getSimpleName();
+        }
+    };
+
+    private final ObservationRegistry observationRegistry;
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object observe(ProceedingJoinPoint joinPoint) throws Throwable {
+        String repository = REPOSITORY_NAMES.get(joinPoint.getThis().getClass());
+        String method = joinPoint.getSignature().getName();
+
+        Observation observation = Observation.createNotStarted("notifications.repository", observationRegistry)
+                .contextualName(repository + "." + method)
+                .lowCardinalityKeyValue("repository", repository)
+                .lowCardinalityKeyValue("method", method)
+                .start();
+        try (Observation.Scope scope = observation.openScope()) {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package RadVeda.NotificationManagement.tracing;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.propagation.Propagator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * WHAT IT IS:
+ * The current trace context as headers (`traceparent`, plus baggage if any),
+ * for messages we push over STOMP.
+ * 
+ * WHY WE NEED IT:
+ * SimpMessagingTemplate turns a plain header map into native STOMP headers,
+ * so the client receives `traceparent` in the frame and can link what it shows
+ * (or how late it arrived) to the trace of the RabbitMQ message.
+ */
+@Component
+@RequiredArgsConstructor
+public class TraceHeaders {
+
+    private final Tracer tracer;
+    private final Propagator propagator;
+
+    /** Empty map when there is no current span. */
+    public Map<String, Object> current() {
+        Span span = tracer.currentSpan();
+        Map<String, Object> headers = new HashMap<>(4);
+        if (span != null) {
+            propagator.inject(span.context(), headers, Map::put);
+        }
+        return headers;
+    }
+}
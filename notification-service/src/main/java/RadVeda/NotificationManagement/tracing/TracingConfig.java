@@ -0,0 +1,46 @@
+package RadVeda.NotificationManagement.tracing;
+
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.aop.ObservedAspect;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+@Configuration
+/**
+ * WHAT IS THE POINT OF THIS FILE:
+ * Turns on the pieces of tracing Spring Boot doesn't switch on by itself.
+ * 
+ * HOW A NOTIFICATION IS TRACED (one trace per message):
+ * 1. RabbitMQ: the listener container continues the `traceparent` of the AMQP
+ * headers (observation enabled in RabbitMQConfig).
+ * 2. NotificationService.process*Event: @Observed spans (ObservedAspect below).
+ * 3. Repository calls: RepositoryObservationAspect.
+ * 4. External calls: the RestTemplate is built by the auto-configured
+ * RestTemplateBuilder (RestClientConfig), which already observes every call and
+ * sends `traceparent` to the other services.
+ * 5. WebSocket: the pushed STOMP frame carries `traceparent` (TraceHeaders), so a
+ * slow push can be tied back to its message.
+ * 
+ * EXPORT:
+ * Spans go to every SpanExporter bean. For local runs and tests,
+ * `tracing.file-exporter.enabled=true` writes them as JSON lines to
+ * `tracing.file-exporter.path`; in production add an OTLP exporter instead.
+ */
+public class TracingConfig {
+
+    @Bean
+    public ObservedAspect observedAspect(ObservationRegistry observationRegistry) {
+        return new ObservedAspect(observationRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "tracing.file-exporter.enabled", havingValue = "true")
+    public SpanExporter fileSpanExporter(@Value("${tracing.file-exporter.path:spans.jsonl}") Path path) {
+        return new FileSpanExporter(path);
+    }
+}
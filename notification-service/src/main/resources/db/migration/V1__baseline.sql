@@ -0,0 +1,30 @@
+-- The schema as it was before versioned migrations: what `ddl-auto: update`
+-- created from the first three entities. Databases that already have these
+-- tables are baselined at this version (spring.flyway.baseline-on-migrate) and
+-- start at V2.
+create table chat_notification (
+    id bigint not null auto_increment,
+    message varchar(255),
+    recipient_type varchar(255),
+    recipient_id varchar(255),
+    chat_type varchar(255),
+    chat_id varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table consent_request_notification (
+    id bigint not null auto_increment,
+    message varchar(255),
+    recipient_type varchar(255),
+    recipient_id varchar(255),
+    consent_request_id varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table one_way_notification (
+    id bigint not null auto_increment,
+    message varchar(255),
+    recipient_type varchar(255),
+    recipient_id varchar(255),
+    primary key (id)
+) engine=InnoDB;
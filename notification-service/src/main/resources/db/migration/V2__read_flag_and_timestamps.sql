@@ -0,0 +1,32 @@
+-- Read flag, creation and expiry time on every notification, and the indexes
+-- behind the paged inbox (recipient, newest first), retention and archiving.
+alter table chat_notification add column is_read bit default false not null;
+alter table chat_notification add column created_at datetime(6);
+alter table chat_notification add column expires_at datetime(6);
+
+alter table consent_request_notification add column is_read bit default false not null;
+alter table consent_request_notification add column created_at datetime(6);
+alter table consent_request_notification add column expires_at datetime(6);
+
+alter table one_way_notification add column is_read bit default false not null;
+alter table one_way_notification add column created_at datetime(6);
+alter table one_way_notification add column expires_at datetime(6);
+
+-- Rows from before this migration have no creation time; they start aging now,
+-- otherwise retention and archiving would never reach them.
+update chat_notification set created_at = current_timestamp(6) where created_at is null;
+update consent_request_notification set created_at = current_timestamp(6) where created_at is null;
+update one_way_notification set created_at = current_timestamp(6) where created_at is null;
+
+create index idx_chat_notification_recipient on chat_notification (recipient_type, recipient_id, created_at);
+create index idx_chat_notification_created on chat_notification (created_at);
+create index idx_chat_notification_expires on chat_notification (expires_at);
+
+create index idx_consent_request_notification_recipient
+    on consent_request_notification (recipient_type, recipient_id, created_at);
+create index idx_consent_request_notification_created on consent_request_notification (created_at);
+create index idx_consent_request_notification_expires on consent_request_notification (expires_at);
+
+create index idx_one_way_notification_recipient on one_way_notification (recipient_type, recipient_id, created_at);
+create index idx_one_way_notification_created on one_way_notification (created_at);
+create index idx_one_way_notification_expires on one_way_notification (expires_at);
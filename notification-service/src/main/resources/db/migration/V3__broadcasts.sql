@@ -0,0 +1,24 @@
+-- One row per broadcast, plus a receipt per recipient that read or deleted it.
+create table broadcast_notification (
+    id bigint not null auto_increment,
+    message varchar(255),
+    recipient_type varchar(255),
+    created_at datetime(6),
+    expires_at datetime(6),
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_broadcast_notification_recipient on broadcast_notification (recipient_type, created_at);
+create index idx_broadcast_notification_created on broadcast_notification (created_at);
+create index idx_broadcast_notification_expires on broadcast_notification (expires_at);
+
+create table broadcast_receipt (
+    id bigint not null auto_increment,
+    broadcast_id bigint,
+    recipient_type varchar(255),
+    recipient_id varchar(255),
+    is_read bit not null,
+    deleted bit not null,
+    primary key (id),
+    constraint uk_broadcast_receipt_recipient unique (broadcast_id, recipient_type, recipient_id)
+) engine=InnoDB;
@@ -0,0 +1,18 @@
+-- Cold storage for old notifications (ArchiveJob). The unique source pair keeps
+-- two replicas from archiving the same row twice.
+create table archived_notification (
+    id bigint not null auto_increment,
+    source_type varchar(255),
+    source_id bigint,
+    recipient_type varchar(255),
+    recipient_id varchar(255),
+    created_at datetime(6),
+    archived_at datetime(6),
+    payload mediumtext,
+    primary key (id),
+    constraint uk_archived_notification_source unique (source_type, source_id)
+) engine=InnoDB;
+
+create index idx_archived_notification_recipient
+    on archived_notification (source_type, recipient_type, recipient_id, created_at);
+create index idx_archived_notification_created on archived_notification (source_type, created_at);
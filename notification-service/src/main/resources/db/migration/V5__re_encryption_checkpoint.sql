@@ -0,0 +1,7 @@
+-- ReEncryptionJob's progress per table, so a restart resumes where it stopped.
+create table re_encryption_checkpoint (
+    table_name varchar(255) not null,
+    last_id bigint,
+    key_id varchar(255),
+    primary key (table_name)
+) engine=InnoDB;
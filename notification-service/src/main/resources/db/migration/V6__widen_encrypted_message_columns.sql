@@ -0,0 +1,6 @@
+-- Room for a message encrypted as GCM ("2$<keyId>$" + Base64 of IV, ciphertext
+-- and tag), see Notification.MESSAGE_COLUMN_LENGTH.
+alter table chat_notification modify message varchar(2048);
+alter table consent_request_notification modify message varchar(2048);
+alter table one_way_notification modify message varchar(2048);
+alter table broadcast_notification modify message varchar(2048);
@@ -0,0 +1,125 @@
+package RadVeda.NotificationManagement;
+
+import RadVeda.NotificationManagement.Notifications.ArchivedNotification;
+import RadVeda.NotificationManagement.Notifications.ArchivedNotificationRepository;
+import RadVeda.NotificationManagement.Notifications.ConsentRequestNotificationRepository;
+import RadVeda.NotificationManagement.Notifications.OneWayNotification;
+import RadVeda.NotificationManagement.Notifications.OneWayNotificationRepository;
+import RadVeda.NotificationManagement.exception.UnauthorisedUserException;
+import RadVeda.NotificationManagement.inbox.InboxVersionTracker;
+import RadVeda.NotificationManagement.inbox.UnreadCountCache;
+import RadVeda.NotificationManagement.retention.NotificationArchiveCodec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Notifications the archive pages hand out keep their original id: deleting
+ * one, or marking it read, must reach the archived copy.
+ */
+@ExtendWith(MockitoExtension.class)
+class NotificationServiceArchiveTest {
+
+    @Mock
+    private OneWayNotificationRepository oneWayNotificationRepository;
+
+    @Mock
+    private ConsentRequestNotificationRepository consentRequestNotificationRepository;
+
+    @Mock
+    private ArchivedNotificationRepository archivedNotificationRepository;
+
+    @Mock
+    private UnreadCountCache unreadCountCache;
+
+    @Mock
+    private InboxVersionTracker inboxVersions;
+
+    @Spy
+    private NotificationArchiveCodec codec = new NotificationArchiveCodec(Jackson2ObjectMapperBuilder.json().build());
+
+    @InjectMocks
+    private NotificationService service;
+
+    private final User owner = new User();
+    private ArchivedNotification archived;
+
+    @BeforeEach
+    void setUp() {
+        owner.setType("PATIENT");
+        owner.setId(7L);
+
+        OneWayNotification original = new OneWayNotification();
+        ReflectionTestUtils.setField(original, "id", 42L);
+        original.setMessage("Your report is ready");
+        original.setRecipientType("PATIENT");
+        original.setRecipientId(7L);
+        original.setCreatedAt(Instant.parse("2020-01-01T00:00:00Z"));
+        archived = new ArchivedNotification();
+        archived.setSourceType("ONE_WAY");
+        archived.setSourceId(42L);
+        archived.setRecipientType("PATIENT");
+        archived.setRecipientId(7L);
+        archived.setPayload(codec.pack(original));
+    }
+
+    @Test
+    void deletesTheArchivedCopy() {
+        when(oneWayNotificationRepository.findById(42L)).thenReturn(Optional.empty());
+        when(archivedNotificationRepository.findBySourceTypeAndSourceId("ONE_WAY", 42L))
+                .thenReturn(Optional.of(archived));
+
+        service.deleteOneWayNotificationOfRecipient(42L, owner);
+        verify(archivedNotificationRepository).delete(archived);
+    }
+
+    @Test
+    void marksTheArchivedCopyRead() {
+        when(oneWayNotificationRepository.findById(42L)).thenReturn(Optional.empty());
+        when(archivedNotificationRepository.findBySourceTypeAndSourceId("ONE_WAY", 42L))
+                .thenReturn(Optional.of(archived));
+
+        service.markOneWayNotificationAsRead(42L, owner);
+        ArgumentCaptor<ArchivedNotification> saved = ArgumentCaptor.forClass(ArchivedNotification.class);
+        verify(archivedNotificationRepository).save(saved.capture());
+        assertTrue(codec.unpack(saved.getValue().getPayload(), OneWayNotification.class).isRead());
+    }
+
+    @Test
+    void archivedCopiesStayPrivate() {
+        User someoneElse = new User();
+        someoneElse.setType("PATIENT");
+        someoneElse.setId(8L);
+        when(oneWayNotificationRepository.findById(42L)).thenReturn(Optional.empty());
+        when(archivedNotificationRepository.findBySourceTypeAndSourceId("ONE_WAY", 42L))
+                .thenReturn(Optional.of(archived));
+
+        assertThrows(UnauthorisedUserException.class, () -> service.deleteOneWayNotificationOfRecipient(42L,
+                someoneElse));
+        verify(archivedNotificationRepository, never()).delete(any());
+    }
+
+    @Test
+    void deleteAllCoversTheArchive() {
+        service.deleteAllConsentRequestNotificationsOfRecipient("DOCTOR", 9L);
+        verify(consentRequestNotificationRepository).deleteByRecipientTypeAndRecipientId("DOCTOR", 9L);
+        verify(archivedNotificationRepository).deleteBySourceTypeAndRecipient("CONSENT", "DOCTOR", 9L);
+    }
+}
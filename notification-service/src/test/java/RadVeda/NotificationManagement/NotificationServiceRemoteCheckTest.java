@@ -0,0 +1,98 @@
+package RadVeda.NotificationManagement;
+
+import RadVeda.NotificationManagement.exception.DependencyUnavailableException;
+import RadVeda.NotificationManagement.external.ExternalServiceClient;
+import RadVeda.NotificationManagement.external.ExternalServiceClient.Dependency;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+/**
+ * Only a real answer of collaboration/consent (false, or a 4xx) may reject a
+ * send with a 400, and only one of user-management may reject a token with a
+ * 401; an outage must surface as an error (503).
+ */
+@ExtendWith(MockitoExtension.class)
+class NotificationServiceRemoteCheckTest {
+
+    @Mock
+    private ExternalServiceClient externalServices;
+
+    @InjectMocks
+    private NotificationService service;
+
+    private final User caller = new User();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "collaborationUrl", "http://collaboration");
+        ReflectionTestUtils.setField(service, "consentUrl", "http://consent");
+        ReflectionTestUtils.setField(service, "userManagementUrl", "http://user-management");
+        ReflectionTestUtils.setField(service, "authFallbackTtl", Duration.ofSeconds(30));
+        caller.setToken("token");
+    }
+
+    @Test
+    void answersDecide() {
+        when(externalServices.getWithFallback(eq(Dependency.COLLABORATION), anyString(), any(), any()))
+                .thenReturn(ResponseEntity.ok("true"));
+        when(externalServices.get(eq(Dependency.CONSENT), anyString(), any()))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, null, null));
+
+        assertTrue(service.isChatValid("PRIVATE", 7L, caller));
+        assertFalse(service.isConsentRequestValid(7L, caller));
+    }
+
+    @Test
+    void outagesAreNotInvalidRequests() {
+        when(externalServices.getWithFallback(eq(Dependency.COLLABORATION), anyString(), any(), any()))
+                .thenThrow(new ResourceAccessException("Connection refused"))
+                .thenThrow(CallNotPermittedException.createCallNotPermittedException(
+                        CircuitBreaker.ofDefaults("collaboration")));
+        when(externalServices.get(eq(Dependency.CONSENT), anyString(), any()))
+                .thenThrow(HttpServerErrorException.create(HttpStatus.BAD_GATEWAY, "Bad Gateway", null, null, null));
+
+        assertThrows(DependencyUnavailableException.class, () -> service.isChatValid("PRIVATE", 7L, caller));
+        assertThrows(CallNotPermittedException.class, () -> service.isChatValid("PRIVATE", 7L, caller));
+        assertThrows(DependencyUnavailableException.class, () -> service.isConsentRequestValid(7L, caller));
+    }
+
+    @Test
+    void authenticationOutagesAreNotBadTokens() {
+        String token = "e30." + Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("{\"role\":\"DOCTOR\"}".getBytes(StandardCharsets.UTF_8)) + ".sig";
+        when(externalServices.getWithFallback(eq(Dependency.USER_MANAGEMENT), anyString(), any(), any(),
+                eq(Duration.ofSeconds(30))))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.UNAUTHORIZED, "Unauthorized", null, null, null))
+                .thenThrow(new ResourceAccessException("Read timed out"))
+                .thenThrow(HttpServerErrorException.create(HttpStatus.BAD_GATEWAY, "Bad Gateway", null, null, null));
+
+        assertNull(service.authenticate("Bearer " + token));
+        assertThrows(DependencyUnavailableException.class, () -> service.authenticate("Bearer " + token));
+        assertThrows(DependencyUnavailableException.class, () -> service.authenticate("Bearer " + token));
+    }
+}
@@ -0,0 +1,129 @@
+package RadVeda.NotificationManagement;
+
+import RadVeda.NotificationManagement.Notifications.ChatNotificationRequest;
+import RadVeda.NotificationManagement.config.DedicatedExecutor;
+import RadVeda.NotificationManagement.exception.InvalidChatException;
+import RadVeda.NotificationManagement.exception.ValidationTimeoutException;
+import RadVeda.NotificationManagement.external.ExternalServiceClient;
+import RadVeda.NotificationManagement.external.ExternalServiceClient.Dependency;
+import RadVeda.NotificationManagement.external.RecipientValidationClient;
+import RadVeda.NotificationManagement.inbox.InboxVersionTracker;
+import RadVeda.NotificationManagement.inbox.UnreadCountCache;
+import RadVeda.NotificationManagement.metrics.PipelineMetrics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeout;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * validateConcurrently, through sendChatNotification: the recipient check and
+ * the chat check run together, and the send only happens if both passed in time.
+ */
+@ExtendWith(MockitoExtension.class)
+class NotificationServiceValidationTest {
+
+    private static final ChatNotificationRequest REQUEST = new ChatNotificationRequest("hello", "PATIENT", 7L,
+            "PRIVATE", 3L);
+
+    @Mock
+    private ExternalServiceClient externalServices;
+
+    @Mock
+    private RecipientValidationClient recipientValidator;
+
+    @Mock
+    private PipelineMetrics pipelineMetrics;
+
+    @Mock
+    private UnreadCountCache unreadCountCache;
+
+    @Mock
+    private InboxVersionTracker inboxVersions;
+
+    @InjectMocks
+    private NotificationService service;
+
+    private final User caller = new User();
+    private final ExecutorService pool = Executors.newCachedThreadPool();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "collaborationUrl", "http://collaboration");
+        ReflectionTestUtils.setField(service, "validationDeadline", Duration.ofSeconds(3));
+        ReflectionTestUtils.setField(service, "validationExecutor", new DedicatedExecutor(pool));
+        caller.setToken("token");
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void aFailedCheckIsNotLostWhenEveryCheckIsAlreadyDone() {
+        // Checks run on the calling thread: both are done before validateConcurrently starts waiting.
+        ReflectionTestUtils.setField(service, "validationExecutor", new DedicatedExecutor(Runnable::run));
+        recipientAnswers(CompletableFuture.completedFuture(true));
+        chatAnswers("false");
+
+        assertThrows(InvalidChatException.class, () -> service.sendChatNotification(REQUEST, caller));
+        verify(pipelineMetrics, never()).persist(anyString(), any());
+    }
+
+    @Test
+    void failsFastWithoutWaitingForTheSlowerCheck() {
+        recipientAnswers(new CompletableFuture<>()); // never answers
+        chatAnswers("false");
+
+        assertTimeout(Duration.ofSeconds(1),
+                () -> assertThrows(InvalidChatException.class, () -> service.sendChatNotification(REQUEST, caller)));
+        verify(pipelineMetrics, never()).persist(anyString(), any());
+    }
+
+    @Test
+    void givesUpAtTheDeadline() {
+        ReflectionTestUtils.setField(service, "validationDeadline", Duration.ofMillis(100));
+        recipientAnswers(new CompletableFuture<>());
+        chatAnswers("true");
+
+        assertThrows(ValidationTimeoutException.class, () -> service.sendChatNotification(REQUEST, caller));
+        verify(pipelineMetrics, never()).persist(anyString(), any());
+    }
+
+    @Test
+    void sendsOnceEveryCheckPassed() {
+        recipientAnswers(CompletableFuture.completedFuture(true));
+        chatAnswers("true");
+
+        service.sendChatNotification(REQUEST, caller);
+        verify(pipelineMetrics).persist(eq("CHAT"), any());
+    }
+
+    private void recipientAnswers(CompletableFuture<Boolean> answer) {
+        when(recipientValidator.validate("PATIENT", 7L, "token")).thenReturn(answer);
+    }
+
+    private void chatAnswers(String body) {
+        when(externalServices.getWithFallback(eq(Dependency.COLLABORATION), anyString(), any(), any()))
+                .thenReturn(ResponseEntity.ok(body));
+    }
+}
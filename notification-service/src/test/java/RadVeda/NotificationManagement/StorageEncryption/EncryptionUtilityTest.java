@@ -0,0 +1,139 @@
+package RadVeda.NotificationManagement.StorageEncryption;
+
+import RadVeda.NotificationManagement.Notifications.Notification;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EncryptionUtilityTest {
+
+    @AfterEach
+    void tearDown() {
+        TestKeys.clear();
+    }
+
+    @Test
+    void valuesFromBeforeVersioningStillDecrypt() {
+        TestKeys.use("k1", StorageFormat.ECB);
+
+        assertEquals("PATIENT", EncryptionUtility.decrypt(TestKeys.LEGACY_PATIENT));
+        assertEquals(42L, EncryptionUtility.decryptLong(TestKeys.LEGACY_42));
+    }
+
+    @Test
+    void searchableStaysTheLegacyCiphertext() {
+        TestKeys.use("k1", StorageFormat.ECB);
+
+        assertEquals(TestKeys.LEGACY_PATIENT, EncryptionUtility.encryptSearchable("PATIENT"));
+        assertEquals(TestKeys.LEGACY_42, EncryptionUtility.encryptSearchable(42L));
+        assertEquals(EncryptionUtility.encryptSearchable("PATIENT"), EncryptionUtility.encryptSearchable("PATIENT"));
+    }
+
+    @Test
+    void withoutActiveKeyNewValuesKeepTheLegacyFormat() {
+        TestKeys.use(null, StorageFormat.ECB);
+
+        assertEquals(TestKeys.LEGACY_PATIENT, EncryptionUtility.encrypt("PATIENT"));
+        assertTrue(EncryptionUtility.isCurrent(TestKeys.LEGACY_PATIENT));
+    }
+
+    @Test
+    void versionedValuesRoundTrip() {
+        TestKeys.use("k1", StorageFormat.ECB);
+
+        String stored = EncryptionUtility.encrypt("Your MRI report is ready — résumé");
+        assertTrue(stored.startsWith("1$k1$"), stored);
+        assertEquals("Your MRI report is ready — résumé", EncryptionUtility.decrypt(stored));
+        assertTrue(EncryptionUtility.isCurrent(stored));
+        assertFalse(EncryptionUtility.isCurrent(TestKeys.LEGACY_PATIENT));
+    }
+
+    @Test
+    void valuesUnderARotatedOutKeyStillDecrypt() {
+        TestKeys.use("k1", StorageFormat.ECB);
+        String underK1 = EncryptionUtility.encrypt("before rotation");
+
+        TestKeys.use("k2", StorageFormat.ECB);
+        assertEquals("before rotation", EncryptionUtility.decrypt(underK1));
+        assertFalse(EncryptionUtility.isCurrent(underK1));
+        assertTrue(EncryptionUtility.encrypt("after rotation").startsWith("1$k2$"));
+    }
+
+    @Test
+    void gcmValuesRoundTripAndAreNotDeterministic() {
+        TestKeys.use("k2", StorageFormat.GCM);
+
+        String first = EncryptionUtility.encrypt("Your MRI report is ready — résumé");
+        String second = EncryptionUtility.encrypt("Your MRI report is ready — résumé");
+        assertTrue(first.startsWith("2$k2$"), first);
+        assertNotEquals(first, second);
+        assertEquals("Your MRI report is ready — résumé", EncryptionUtility.decrypt(first));
+        assertEquals("Your MRI report is ready — résumé", EncryptionUtility.decrypt(second));
+        assertTrue(EncryptionUtility.isCurrent(first));
+    }
+
+    @Test
+    void bothFormatsAreReadSideBySide() {
+        TestKeys.use("k1", StorageFormat.ECB);
+        String ecb = EncryptionUtility.encrypt("written as v1");
+
+        TestKeys.use("k1", StorageFormat.GCM);
+        String gcm = EncryptionUtility.encrypt("written as v2");
+        assertFalse(EncryptionUtility.isCurrent(ecb));
+        assertEquals(List.of("written as v1", "written as v2", "PATIENT"),
+                EncryptionUtility.decryptAll(List.of(ecb, gcm, TestKeys.LEGACY_PATIENT)));
+        // Searchable columns never move to GCM.
+        assertEquals(TestKeys.LEGACY_PATIENT, EncryptionUtility.encryptSearchable("PATIENT"));
+    }
+
+    @Test
+    void tamperedGcmValuesFail() {
+        TestKeys.use("k1", StorageFormat.GCM);
+        String stored = EncryptionUtility.encrypt("do not touch");
+        byte[] raw = Base64.getDecoder().decode(stored.substring("2$k1$".length()));
+        raw[raw.length - 1] ^= 1;
+
+        assertThrows(RuntimeException.class,
+                () -> EncryptionUtility.decrypt("2$k1$" + Base64.getEncoder().encodeToString(raw)));
+    }
+
+    @Test
+    void aLongMessageStillFitsItsColumnAsGcm() {
+        TestKeys.use("k1", StorageFormat.GCM);
+        String message = "é".repeat(700); // 1400 bytes of UTF-8
+
+        assertTrue(EncryptionUtility.encrypt(message).length() <= Notification.MESSAGE_COLUMN_LENGTH);
+    }
+
+    @Test
+    void gcmNeedsAnActiveKey() {
+        TestKeys.use(null, StorageFormat.GCM);
+
+        assertThrows(IllegalStateException.class, KeyRing::get);
+    }
+
+    @Test
+    void storageFormatTags() {
+        assertEquals("1", StorageFormat.ECB.tag());
+        assertEquals("2", StorageFormat.GCM.tag());
+        for (StorageFormat format : StorageFormat.values()) {
+            assertEquals(format, StorageFormat.fromTag(format.tag()));
+        }
+        assertThrows(IllegalArgumentException.class, () -> StorageFormat.fromTag("3"));
+    }
+
+    @Test
+    void rejectsKeysItDoesNotHave() {
+        TestKeys.use("k1", StorageFormat.ECB);
+
+        assertThrows(IllegalStateException.class, () -> EncryptionUtility.decrypt("1$k9$AAAA"));
+    }
+}
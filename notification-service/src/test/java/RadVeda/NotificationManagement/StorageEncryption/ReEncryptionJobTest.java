@@ -0,0 +1,122 @@
+package RadVeda.NotificationManagement.StorageEncryption;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the job's SQL against H2, with a JdbcTemplate that lets "the app" write
+ * a row between the job's read and its compare-and-set UPDATE.
+ */
+class ReEncryptionJobTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private Runnable beforeUpdate = () -> { };
+    private final ReEncryptionCheckpointRepository checkpoints = mock(ReEncryptionCheckpointRepository.class);
+    private final Map<String, ReEncryptionCheckpoint> saved = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:reencrypt;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource) {
+            @Override
+            public int[] batchUpdate(String sql, List<Object[]> batchArgs) {
+                beforeUpdate.run();
+                return super.batchUpdate(sql, batchArgs);
+            }
+        };
+        jdbcTemplate.execute("create table chat_notification (id bigint primary key, message varchar(255), "
+                + "chat_type varchar(255), chat_id varchar(255))");
+        jdbcTemplate.execute("create table consent_request_notification (id bigint primary key, "
+                + "message varchar(255), consent_request_id varchar(255))");
+        for (String table : List.of("one_way_notification", "broadcast_notification")) {
+            jdbcTemplate.execute("create table " + table + " (id bigint primary key, message varchar(255))");
+        }
+        jdbcTemplate.execute("create table archived_notification (id bigint primary key, payload varchar(255))");
+        // Checkpoints live in a map, so a second run resumes like it would from the table.
+        when(checkpoints.findById(any())).thenAnswer(call -> Optional.ofNullable(saved.get(call.getArgument(0))));
+        when(checkpoints.save(any())).thenAnswer(call -> {
+            ReEncryptionCheckpoint checkpoint = call.getArgument(0);
+            saved.put(checkpoint.getTableName(), new ReEncryptionCheckpoint(checkpoint.getTableName(),
+                    checkpoint.getLastId(), checkpoint.getKeyId()));
+            return checkpoint;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("drop all objects");
+        TestKeys.clear();
+    }
+
+    @Test
+    void rewritesOldValuesButNeverWhatTheAppChangedMeanwhile() {
+        TestKeys.use("k1", StorageFormat.ECB);
+        String underK1 = EncryptionUtility.encrypt("old message");
+        jdbcTemplate.update("insert into one_way_notification values (1, ?)", TestKeys.LEGACY_PATIENT);
+        jdbcTemplate.update("insert into one_way_notification values (2, ?)", underK1);
+        jdbcTemplate.update("insert into one_way_notification values (3, ?)", underK1);
+
+        TestKeys.use("k2", StorageFormat.ECB);
+        String writtenByApp = EncryptionUtility.encrypt("edited message");
+        beforeUpdate = () -> jdbcTemplate.update("update one_way_notification set message = ? where id = 3",
+                writtenByApp);
+
+        job().reEncrypt();
+
+        assertEquals(writtenByApp, message(3));
+        for (long id : new long[] { 1, 2 }) {
+            assertTrue(message(id).startsWith("1$k2$"), message(id));
+        }
+        assertEquals("PATIENT", EncryptionUtility.decrypt(message(1)));
+        assertEquals("old message", EncryptionUtility.decrypt(message(2)));
+        verify(checkpoints).save(any(ReEncryptionCheckpoint.class));
+    }
+
+    @Test
+    void switchingToGcmUnderTheSameKeyWalksTheTablesAgain() {
+        TestKeys.use("k1", StorageFormat.ECB);
+        jdbcTemplate.update("insert into one_way_notification values (1, ?)", TestKeys.LEGACY_PATIENT);
+        job().reEncrypt();
+        assertTrue(message(1).startsWith("1$k1$"), message(1));
+
+        TestKeys.use("k1", StorageFormat.GCM);
+        job().reEncrypt();
+
+        assertTrue(message(1).startsWith("2$k1$"), message(1));
+        assertEquals("PATIENT", EncryptionUtility.decrypt(message(1)));
+        assertEquals("k1/GCM", saved.get("one_way_notification").getKeyId());
+    }
+
+    private ReEncryptionJob job() {
+        ReEncryptionJob job = new ReEncryptionJob(jdbcTemplate, checkpoints, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(job, "enabled", true);
+        ReflectionTestUtils.setField(job, "chunkSize", 200);
+        ReflectionTestUtils.setField(job, "maxChunksPerRun", 10);
+        ReflectionTestUtils.setField(job, "pause", Duration.ZERO);
+        return job;
+    }
+
+    private String message(long id) {
+        return jdbcTemplate.queryForObject("select message from one_way_notification where id = ?", String.class,
+                id);
+    }
+}
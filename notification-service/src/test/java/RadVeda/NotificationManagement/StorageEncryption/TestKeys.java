@@ -0,0 +1,67 @@
+package RadVeda.NotificationManagement.StorageEncryption;
+
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.Cipher;
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Configures the KeyRing through the system properties it falls back to, with
+ * two data keys "k1" and "k2", and drops the loaded ring so the next call
+ * reads them again.
+ */
+final class TestKeys {
+
+    // The original 16-character key; LEGACY_* below were encrypted with it outside of Java (openssl).
+    static final String SECRET_KEY = "0123456789abcdef";
+    static final String LEGACY_PATIENT = "n+UC9pF4grP3aHwmxzxn3Q==";
+    static final String LEGACY_42 = "rMO9EdvXEdOlVFS/JDxKrg==";
+
+    private static final String[] SETTINGS = { "STORAGE_ENCRYPTION_SECRET_KEY", "STORAGE_ENCRYPTION_MASTER_KEY",
+            "STORAGE_ENCRYPTION_DATA_KEYS", "STORAGE_ENCRYPTION_ACTIVE_KEY_ID", "STORAGE_ENCRYPTION_FORMAT" };
+
+    private static final String MASTER_KEY;
+    private static final String DATA_KEYS;
+
+    static {
+        try {
+            KeyGenerator generator = KeyGenerator.getInstance("AES");
+            generator.init(256);
+            SecretKey master = generator.generateKey();
+            Cipher wrap = Cipher.getInstance("AESWrap");
+            wrap.init(Cipher.WRAP_MODE, master);
+            MASTER_KEY = Base64.getEncoder().encodeToString(master.getEncoded());
+            DATA_KEYS = "k1:" + Base64.getEncoder().encodeToString(wrap.wrap(generator.generateKey()))
+                    + ",k2:" + Base64.getEncoder().encodeToString(wrap.wrap(generator.generateKey()));
+        } catch (Exception e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private TestKeys() {
+    }
+
+    // activeKeyId null = no versioned key, new values keep the original format.
+    static void use(String activeKeyId, StorageFormat format) {
+        System.setProperty("STORAGE_ENCRYPTION_SECRET_KEY", SECRET_KEY);
+        System.setProperty("STORAGE_ENCRYPTION_MASTER_KEY", MASTER_KEY);
+        System.setProperty("STORAGE_ENCRYPTION_DATA_KEYS", DATA_KEYS);
+        System.setProperty("STORAGE_ENCRYPTION_ACTIVE_KEY_ID", activeKeyId == null ? "" : activeKeyId);
+        System.setProperty("STORAGE_ENCRYPTION_FORMAT", format.name());
+        reload();
+    }
+
+    static void clear() {
+        for (String setting : SETTINGS) {
+            System.clearProperty(setting);
+        }
+        reload();
+    }
+
+    private static void reload() {
+        ((AtomicReference<?>) ReflectionTestUtils.getField(KeyRing.class, "INSTANCE")).set(null);
+    }
+}
@@ -0,0 +1,37 @@
+package RadVeda.NotificationManagement.config;
+
+import RadVeda.NotificationManagement.consumer.NotificationMessage;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NativeRuntimeHintsTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    NativeRuntimeHintsTest() {
+        new NativeRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void jacksonCanBindTheAmqpPayload() throws Exception {
+        assertTrue(RuntimeHintsPredicates.reflection().onConstructor(NotificationMessage.class.getConstructor())
+                .test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(NotificationMessage.class, "setBody").test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(NotificationMessage.class, "getBody").test(hints));
+    }
+
+    @Test
+    void everyJsonTypeAndConverterIsRegistered() {
+        for (Class<?> type : NativeRuntimeHints.JSON_TYPES) {
+            assertTrue(RuntimeHintsPredicates.reflection().onType(type).test(hints), type.getName());
+        }
+        for (Class<?> converter : NativeRuntimeHints.CONVERTERS) {
+            assertTrue(RuntimeHintsPredicates.reflection().onType(converter)
+                    .withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS).test(hints), converter.getName());
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package RadVeda.NotificationManagement.consumer;
+
+import RadVeda.NotificationManagement.config.RabbitMQConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Instant;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NotificationMessageBinaryConverterTest {
+
+    private final NotificationMessageBinaryConverter binary = new NotificationMessageBinaryConverter();
+
+    @Test
+    void roundTripsEveryField() {
+        for (NotificationMessage message : new NotificationMessage[] {
+                new NotificationMessage("CHAT", "Your MRI report is ready — résumé 📄", 1234567L, null,
+                        Instant.parse("2030-01-01T00:00:00.123456789Z")),
+                new NotificationMessage("BROADCAST", "Maintenance tonight", null, "DOCTOR", null),
+                new NotificationMessage("SOMETHING_NEW", "", -1L, "", Instant.parse("1969-12-31T23:59:59Z")),
+                new NotificationMessage() }) {
+            Message encoded = binary.toMessage(message, new MessageProperties());
+            assertEquals(NotificationMessageBinaryConverter.CONTENT_TYPE,
+                    encoded.getMessageProperties().getContentType());
+            assertEquals(message, binary.fromMessage(encoded));
+        }
+    }
+
+    @Test
+    void rejectsWhatItCannotReadFully() {
+        byte[] body = binary.toMessage(new NotificationMessage("CHAT", "hello", 42L, null, null),
+                new MessageProperties()).getBody();
+
+        byte[] truncated = Arrays.copyOf(body, body.length - 1);
+        byte[] trailing = Arrays.copyOf(body, body.length + 1);
+        byte[] otherVersion = body.clone();
+        otherVersion[0] = 2;
+        // version 1, only expiresAt, then seconds (zigzag) and nanos as varints
+        byte[] tooManyNanos = { 1, 16, 0, 0, (byte) 0x80, (byte) 0x94, (byte) 0xEB, (byte) 0xDC, 0x03 };
+        byte[] afterInstantMax = { 1, 16, 0, (byte) 0xFE, -1, -1, -1, -1, -1, -1, -1, -1, 0x01, 0 };
+        for (byte[] bad : new byte[][] { truncated, trailing, otherVersion, new byte[0], tooManyNanos,
+                afterInstantMax }) {
+            assertThrows(MessageConversionException.class,
+                    () -> binary.fromMessage(new Message(bad, new MessageProperties())));
+        }
+    }
+
+    @Test
+    void listenersReadBothFormatsAndTheTemplateStillSendsJson() {
+        MessageConverter converter = new RabbitMQConfig().converter(Jackson2ObjectMapperBuilder.json().build());
+        NotificationMessage message = new NotificationMessage("CONSENT", "Please approve", 7L, null,
+                Instant.parse("2030-01-01T00:00:00Z"));
+
+        Message json = converter.toMessage(message, new MessageProperties());
+        assertTrue(json.getMessageProperties().getContentType().contains("json"));
+        assertEquals(message, converter.fromMessage(json));
+
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(NotificationMessageBinaryConverter.CONTENT_TYPE);
+        Message compact = converter.toMessage(message, properties);
+        assertTrue(compact.getBody().length < json.getBody().length);
+        assertEquals(message, converter.fromMessage(compact));
+    }
+}
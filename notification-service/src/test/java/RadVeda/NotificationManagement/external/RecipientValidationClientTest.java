@@ -0,0 +1,101 @@
+package RadVeda.NotificationManagement.external;
+
+import RadVeda.NotificationManagement.config.DedicatedExecutor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RecipientValidationClientTest {
+
+    private static final Set<Long> EXISTING = Set.of(1L, 2L, 3L, 42L);
+
+    private StubUserManagementServer server;
+    private RecipientValidationClient client;
+
+    @AfterEach
+    void tearDown() {
+        client.shutdown();
+        server.close();
+    }
+
+    @Test
+    void concurrentSingleIdChecksBecomeOneBatchedCall() throws Exception {
+        start(200, StubUserManagementServer.BATCH_PATH);
+
+        List<CompletableFuture<Boolean>> results = new ArrayList<>();
+        for (long id = 0; id < 50; id++) {
+            results.add(client.validate("DOCTOR", id, "token"));
+        }
+
+        for (int id = 0; id < 50; id++) {
+            assertEquals(EXISTING.contains((long) id), results.get(id).get());
+        }
+        assertEquals(1, server.batchCalls.get());
+        assertEquals(0, server.singleCalls.get());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 404, 405, 501 })
+    void fallsBackToPerIdCallsWhenUpstreamHasNoBatchEndpoint(int batchStatus) {
+        start(batchStatus, StubUserManagementServer.BATCH_PATH);
+
+        Map<Long, Boolean> results = client.validateAll("PATIENT", List.of(1L, 5L, 42L, 1L), "token");
+
+        assertEquals(Map.of(1L, true, 5L, false, 42L, true), results);
+        assertEquals(1, server.batchCalls.get());
+        assertEquals(3, server.singleCalls.get());
+
+        // The "unsupported" answer is remembered: the next batch goes straight to per-id calls.
+        assertTrue(client.validateAll("PATIENT", List.of(2L, 7L), "token").get(2L));
+        assertEquals(1, server.batchCalls.get());
+    }
+
+    @Test
+    void unknownRecipientTypeIsInvalidWithoutACall() throws Exception {
+        start(200, "");
+
+        assertFalse(client.validate("ALIEN", 1L, "token").get());
+        assertEquals(0, server.singleCalls.get() + server.batchCalls.get());
+    }
+
+    private void start(int batchStatus, String batchPath) {
+        try {
+            server = new StubUserManagementServer(EXISTING, batchStatus);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+
+        ExternalServiceClient externalServices = new ExternalServiceClient(new RestTemplate(),
+                CircuitBreakerRegistry.ofDefaults(), BulkheadRegistry.ofDefaults(), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(externalServices, "fallbackTtl", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(externalServices, "fallbackMaxEntries", 100);
+
+        client = new RecipientValidationClient(externalServices, new ObjectMapper(),
+                new DedicatedExecutor(Executors.newCachedThreadPool()));
+        ReflectionTestUtils.setField(client, "userManagementUrl", server.url());
+        ReflectionTestUtils.setField(client, "batchPath", batchPath);
+        ReflectionTestUtils.setField(client, "window", Duration.ofMillis(50));
+        ReflectionTestUtils.setField(client, "maxBatchSize", 100);
+        ReflectionTestUtils.setField(client, "retryUnsupportedAfter", Duration.ofMinutes(10));
+    }
+}
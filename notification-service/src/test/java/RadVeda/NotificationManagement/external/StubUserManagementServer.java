@@ -0,0 +1,88 @@
+package RadVeda.NotificationManagement.external;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * A local stand-in for user-management, on a random port: the single-id
+ * validation endpoints and the batch one, which answers `batchStatus` (anything
+ * but 200 plays an upstream without it, e.g. 404 or 501). Ids in `existing`
+ * are valid, everything else is not. Counts the calls it gets.
+ */
+class StubUserManagementServer implements AutoCloseable {
+
+    static final String BATCH_PATH = "/validateIds";
+
+    final AtomicInteger singleCalls = new AtomicInteger();
+    final AtomicInteger batchCalls = new AtomicInteger();
+
+    private final HttpServer server;
+    private final Set<Long> existing;
+
+    StubUserManagementServer(Set<Long> existing, int batchStatus) throws IOException {
+        this.existing = existing;
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/", exchange -> {
+            try (exchange) {
+                String path = exchange.getRequestURI().getPath();
+                if (path.endsWith(BATCH_PATH) && exchange.getRequestMethod().equals("POST")) {
+                    batchCalls.incrementAndGet();
+                    if (batchStatus != 200) {
+                        respond(exchange, batchStatus, "");
+                        return;
+                    }
+                    respond(exchange, 200, batchAnswer(exchange));
+                } else if (path.contains("/validate")) {
+                    singleCalls.incrementAndGet();
+                    Long id = Long.valueOf(path.substring(path.lastIndexOf('/') + 1));
+                    respond(exchange, 200, String.valueOf(existing.contains(id)));
+                } else {
+                    respond(exchange, 404, "");
+                }
+            }
+        });
+        server.start();
+    }
+
+    String url() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    // [1,2,3] -> {"1":true,"2":false,"3":true}
+    private String batchAnswer(HttpExchange exchange) throws IOException {
+        String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        String ids = body.replaceAll("[\\[\\]\\s]", "");
+        if (ids.isEmpty()) {
+            return "{}";
+        }
+        return Arrays.stream(ids.split(","))
+                .map(id -> "\"" + id + "\":" + existing.contains(Long.valueOf(id)))
+                .collect(Collectors.joining(",", "{", "}"));
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        if (bytes.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package RadVeda.NotificationManagement.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CountingAsyncAppenderTest {
+
+    @Test
+    void countsWhatItDropsInsteadOfBlocking() throws Exception {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        Logger logger = context.getLogger(CountingAsyncAppenderTest.class);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger written = new AtomicInteger();
+
+        // A writer stuck on its first event, like a console that can't keep up
+        AppenderBase<ILoggingEvent> stuck = new AppenderBase<>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                written.incrementAndGet();
+            }
+        };
+        stuck.setContext(context);
+        stuck.start();
+
+        CountingAsyncAppender appender = new CountingAsyncAppender();
+        appender.setContext(context);
+        appender.setQueueSize(10);
+        appender.setDiscardingThreshold(5);
+        appender.setNeverBlock(true);
+        appender.addAppender(stuck);
+        appender.start();
+
+        appender.doAppend(event(logger, Level.INFO));
+        while (appender.getNumberOfElementsInQueue() > 0) {
+            Thread.sleep(1); // the writer took it and is now stuck
+        }
+
+        for (int i = 0; i < 5; i++) {
+            appender.doAppend(event(logger, Level.INFO)); // fill the queue down to the threshold
+        }
+        appender.doAppend(event(logger, Level.INFO)); // below the threshold: INFO is dropped...
+        for (int i = 0; i < 5; i++) {
+            appender.doAppend(event(logger, Level.WARN)); // ...WARN still fits until the queue is full
+        }
+        appender.doAppend(event(logger, Level.ERROR)); // full: dropped whatever the level
+
+        assertEquals(2, appender.getDroppedCount());
+
+        release.countDown();
+        appender.stop();
+        assertEquals(11, written.get());
+    }
+
+    private static ILoggingEvent event(Logger logger, Level level) {
+        return new LoggingEvent(Logger.class.getName(), logger, level, "event", null, null);
+    }
+}
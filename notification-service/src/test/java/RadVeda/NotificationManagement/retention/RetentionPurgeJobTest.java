@@ -0,0 +1,47 @@
+package RadVeda.NotificationManagement.retention;
+
+import RadVeda.NotificationManagement.Notifications.ArchivedNotificationRepository;
+import RadVeda.NotificationManagement.Notifications.BroadcastNotificationRepository;
+import RadVeda.NotificationManagement.Notifications.BroadcastReceiptRepository;
+import RadVeda.NotificationManagement.Notifications.ChatNotificationRepository;
+import RadVeda.NotificationManagement.Notifications.ConsentRequestNotificationRepository;
+import RadVeda.NotificationManagement.Notifications.OneWayNotificationRepository;
+import RadVeda.NotificationManagement.inbox.InboxVersionTracker;
+import RadVeda.NotificationManagement.inbox.UnreadCountCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RetentionPurgeJobTest {
+
+    private final ChatNotificationRepository chat = mock(ChatNotificationRepository.class);
+    private final ConsentRequestNotificationRepository consent = mock(ConsentRequestNotificationRepository.class);
+
+    @Test
+    void expiredConsentRequestsAreKeptForTheArchive() {
+        RetentionProperties properties = new RetentionProperties();
+        properties.setArchiveAfter(Map.of("CHAT", Duration.ofDays(30), "CONSENT", Duration.ofDays(30)));
+        properties.setMaxAge(Map.of("CHAT", Duration.ofDays(90)));
+        when(chat.findIdsExpiredBefore(any(), any())).thenReturn(List.of(1L));
+
+        new RetentionPurgeJob(properties, chat, consent, mock(OneWayNotificationRepository.class),
+                mock(BroadcastNotificationRepository.class), mock(BroadcastReceiptRepository.class),
+                mock(ArchivedNotificationRepository.class), mock(UnreadCountCache.class),
+                mock(InboxVersionTracker.class), new SimpleMeterRegistry(), mock(TransactionTemplate.class))
+                .purge();
+
+        verify(chat).deleteAllByIdInBatch(List.of(1L));
+        verify(consent, never()).findIdsExpiredBefore(any(), any());
+        verify(consent, never()).deleteAllByIdInBatch(any());
+    }
+}
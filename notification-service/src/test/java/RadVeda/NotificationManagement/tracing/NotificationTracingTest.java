@@ -0,0 +1,170 @@
+package RadVeda.NotificationManagement.tracing;
+
+import RadVeda.NotificationManagement.consumer.NotificationMessage;
+import RadVeda.NotificationManagement.consumer.NotificationMessageBinaryConverter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rabbitmq.client.Channel;
+import io.micrometer.observation.ObservationRegistry;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.listener.AbstractMessageListenerContainer;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.amqp.rabbit.listener.api.ChannelAwareMessageListener;
+import org.springframework.amqp.rabbit.support.micrometer.RabbitListenerObservation;
+import org.springframework.amqp.rabbit.support.micrometer.RabbitMessageReceiverContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * One traced message end to end, on H2 and without a broker: the `traceparent`
+ * of an AMQP message must come out in the pushed STOMP frame, and every span
+ * (listener, processing, repository) must belong to that same trace. Spans are
+ * read back from the file exporter.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:tracing;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create",
+        "spring.rabbitmq.listener.simple.auto-startup=false",
+        "management.tracing.sampling.probability=1.0",
+        "tracing.file-exporter.enabled=true" })
+@AutoConfigureObservability
+class NotificationTracingTest {
+
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+    private static final String PARENT_SPAN_ID = "00f067aa0ba902b7";
+
+    @TempDir
+    static Path spans;
+
+    @Autowired
+    private RabbitListenerEndpointRegistry listeners;
+
+    @Autowired
+    private ObservationRegistry observationRegistry;
+
+    @Autowired
+    private SdkTracerProvider tracerProvider;
+
+    @Autowired
+    private SimpleBrokerMessageHandler broker;
+
+    @Autowired
+    @Qualifier("clientOutboundChannel")
+    private ExecutorSubscribableChannel clientOutboundChannel;
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        // KeyRing reads its settings from the environment or system properties, not from Spring
+        System.setProperty("STORAGE_ENCRYPTION_SECRET_KEY", "0123456789abcdef");
+        registry.add("tracing.file-exporter.path", () -> spans.resolve("spans.jsonl").toString());
+    }
+
+    @AfterAll
+    static void tearDown() {
+        System.clearProperty("STORAGE_ENCRYPTION_SECRET_KEY");
+    }
+
+    @Test
+    void traceparentOfTheAmqpMessageReachesTheStompFrameAndTheRepository() throws Exception {
+        BlockingQueue<Message<?>> frames = new LinkedBlockingQueue<>();
+        clientOutboundChannel.addInterceptor(new ChannelInterceptor() {
+            @Override
+            public Message<?> preSend(Message<?> message, MessageChannel channel) {
+                if (SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) == SimpMessageType.MESSAGE) {
+                    frames.add(message);
+                }
+                return message;
+            }
+        });
+        subscribe("/topic/user/7");
+
+        MessageProperties properties = new MessageProperties();
+        properties.setConsumerQueue("notification_queue");
+        properties.setHeader("traceparent", "00-" + TRACE_ID + "-" + PARENT_SPAN_ID + "-01");
+        deliver(new NotificationMessageBinaryConverter().toMessage(
+                new NotificationMessage("ONE_WAY", "Your report is ready", 7L, null, null), properties));
+
+        Message<?> frame = frames.poll(10, TimeUnit.SECONDS);
+        assertNotNull(frame, "nothing was pushed to /topic/user/7");
+        String traceparent = SimpMessageHeaderAccessor.wrap(frame).getFirstNativeHeader("traceparent");
+        assertNotNull(traceparent, "no traceparent in the STOMP frame");
+        assertTrue(traceparent.startsWith("00-" + TRACE_ID + "-"), traceparent);
+
+        assertTrue(tracerProvider.forceFlush().join(10, TimeUnit.SECONDS).isSuccess());
+        List<JsonNode> trace = new ArrayList<>();
+        ObjectMapper json = new ObjectMapper();
+        for (String line : Files.readAllLines(spans.resolve("spans.jsonl"))) {
+            JsonNode span = json.readTree(line);
+            if (span.get("traceId").asText().equals(TRACE_ID)) {
+                trace.add(span);
+            }
+        }
+        JsonNode receive = span(trace, "notification_queue receive");
+        JsonNode process = span(trace, "process-one-way-event");
+        JsonNode save = span(trace, "one-way-notification-repository.save");
+        assertEquals(PARENT_SPAN_ID, receive.get("parentSpanId").asText());
+        assertEquals(receive.get("spanId"), process.get("parentSpanId"));
+        assertEquals(process.get("spanId"), save.get("parentSpanId"));
+    }
+
+    // What the listener container does around each delivery (it needs a broker to get one).
+    private void deliver(org.springframework.amqp.core.Message message) throws Exception {
+        AbstractMessageListenerContainer container =
+                (AbstractMessageListenerContainer) listeners.getListenerContainers().iterator().next();
+        ChannelAwareMessageListener listener = (ChannelAwareMessageListener) container.getMessageListener();
+        RabbitListenerObservation.LISTENER_OBSERVATION.observation(null,
+                RabbitListenerObservation.DefaultRabbitListenerObservationConvention.INSTANCE,
+                () -> new RabbitMessageReceiverContext(message, container.getListenerId()), observationRegistry)
+                .observeChecked(() -> listener.onMessage(message, mock(Channel.class)));
+    }
+
+    // A STOMP client as the broker sees it: CONNECT (it only pushes to known sessions), then SUBSCRIBE.
+    private void subscribe(String destination) {
+        SimpMessageHeaderAccessor connect = SimpMessageHeaderAccessor.create(SimpMessageType.CONNECT);
+        connect.setSessionId("session-1");
+        broker.handleMessage(MessageBuilder.createMessage(new byte[0], connect.getMessageHeaders()));
+
+        SimpMessageHeaderAccessor subscribe = SimpMessageHeaderAccessor.create(SimpMessageType.SUBSCRIBE);
+        subscribe.setSessionId("session-1");
+        subscribe.setSubscriptionId("subscription-1");
+        subscribe.setDestination(destination);
+        broker.handleMessage(MessageBuilder.createMessage(new byte[0], subscribe.getMessageHeaders()));
+    }
+
+    private static JsonNode span(List<JsonNode> trace, String name) {
+        return trace.stream().filter(span -> span.get("name").asText().equals(name)).findFirst()
+                .orElseThrow(() -> new AssertionError("no span " + name + " in " + trace));
+    }
+}